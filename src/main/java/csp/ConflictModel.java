@@ -0,0 +1,73 @@
+package csp;
+
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Service provider interface of a constraint satisfaction problem solved by the Min Conflicts engine. Variables are
+ * numbered from 0 to getVariables() - 1 and every variable takes a value from 0 to getDomainSize(variable) - 1. The
+ * model owns the counters of its constraints and keeps them up to date on every assignment, so the engine only ever
+ * asks for conflicts of single variables and never evaluates the whole assignment.
+ */
+public interface ConflictModel {
+
+    /**
+     * Getter for the number of variables
+     *
+     * @return number of variables
+     */
+    int getVariables();
+
+    /**
+     * Getter for the number of values a variable can take
+     *
+     * @param variable index of the variable
+     * @return size of the variable's domain
+     */
+    int getDomainSize(int variable);
+
+    /**
+     * Getter for the current value of a variable
+     *
+     * @param variable index of the variable
+     * @return current value of the variable
+     */
+    int getValue(int variable);
+
+    /**
+     * Method for assigning a value to every variable and rebuilding all constraint counters. Called before every
+     * restart of the search.
+     *
+     * @param random random number generator of the search
+     */
+    void initialize(RandomGenerator random);
+
+    /**
+     * Method for getting the number of constraints the current value of a variable violates
+     *
+     * @param variable index of the variable
+     * @return number of conflicts of the variable
+     */
+    int getConflicts(int variable);
+
+    /**
+     * Method for evaluating how many constraints a variable would violate if it took the given value, with all other
+     * variables unchanged. Must be computed from the constraint counters as a delta, without applying the value.
+     *
+     * @param variable index of the variable
+     * @param value    candidate value of the variable
+     * @return number of conflicts the variable would have
+     */
+    int getConflictsIfAssigned(int variable, int value);
+
+    /**
+     * Method for assigning a value to a variable and updating the constraint counters it takes part in. Every variable
+     * which might have gone from no conflicts to some conflicts must be passed to the consumer. Passing variables which
+     * are not in conflict is allowed.
+     *
+     * @param variable   index of the variable
+     * @param value      new value of the variable
+     * @param conflicted consumer of the variables which may have become conflicted
+     */
+    void assign(int variable, int value, IntConsumer conflicted);
+}
@@ -0,0 +1,93 @@
+package csp;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Set of variables supporting constant time insertion, removal and access by index. Used for keeping track of the
+ * variables which may be in conflict without scanning all of them. As a consumer it adds the variables it is given.
+ */
+public final class ConflictedVariables implements IntConsumer {
+
+    private static final int ABSENT = -1;
+
+    private final int[] members;
+    private final int[] positions;
+    private int size;
+
+    /**
+     * Constructor creating an empty set
+     *
+     * @param variables number of variables
+     */
+    public ConflictedVariables(final int variables) {
+        members = new int[variables];
+        positions = new int[variables];
+        Arrays.fill(positions, ABSENT);
+        size = 0;
+    }
+
+    /**
+     * Method for adding a variable to the set. Adding a variable which is already present has no effect.
+     *
+     * @param variable variable to be added
+     */
+    public void add(final int variable) {
+        if(positions[variable] != ABSENT) {
+            return;
+        }
+
+        positions[variable] = size;
+        members[size++] = variable;
+    }
+
+    @Override
+    public void accept(final int variable) {
+        add(variable);
+    }
+
+    /**
+     * Method for removing a variable from the set by moving the last element in its place
+     *
+     * @param variable variable to be removed
+     */
+    public void remove(final int variable) {
+        final int position = positions[variable];
+        if(position == ABSENT) {
+            return;
+        }
+
+        final int last = members[--size];
+        members[position] = last;
+        positions[last] = position;
+        positions[variable] = ABSENT;
+    }
+
+    /**
+     * Method for accessing a variable by its position in the set
+     *
+     * @param index position in the set, between 0 and size - 1
+     * @return variable at the given position
+     */
+    public int get(final int index) {
+        return members[index];
+    }
+
+    /**
+     * Getter for the number of variables in the set
+     *
+     * @return number of variables in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for checking if the set is empty
+     *
+     * @return true if there are no variables in the set
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
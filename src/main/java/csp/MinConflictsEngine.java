@@ -0,0 +1,161 @@
+package csp;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generic Min Conflicts local search. A random conflicted variable is repeatedly moved to the value with the fewest
+ * conflicts until no variable is in conflict. The set of conflicted variables is maintained incrementally from the
+ * variables reported by the model, so picking a variable takes amortized constant time.
+ */
+public final class MinConflictsEngine {
+
+    private static final int NO_CONFLICTS = -1;
+
+    private final long maxStepsPerRestart;
+    private final long maxRestarts;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param maxStepsPerRestart maximum number of moves before the model is initialized again
+     * @param maxRestarts        maximum number of restarts before giving up
+     */
+    public MinConflictsEngine(final long maxStepsPerRestart, final long maxRestarts) {
+        if(maxStepsPerRestart < 1 || maxRestarts < 0) {
+            throw new IllegalArgumentException("Invalid search limits");
+        }
+
+        this.maxStepsPerRestart = maxStepsPerRestart;
+        this.maxRestarts = maxRestarts;
+    }
+
+    /**
+     * Method for solving a model. When the method returns true, the current values of the model's variables are the
+     * solution.
+     *
+     * @param model  problem to be solved
+     * @param random random number generator used only by this search
+     * @return true if an assignment without conflicts was found
+     */
+    public boolean solve(final ConflictModel model, final RandomGenerator random) {
+        return solve(model, random, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Method for solving a model within a budget. When the method returns true, the current values of the model's
+     * variables are the solution.
+     *
+     * @param model  problem to be solved
+     * @param random random number generator used only by this search
+     * @param budget budget consulted before every restart and every step
+     * @return true if an assignment without conflicts was found, false if the limits or the budget ran out
+     */
+    public boolean solve(final ConflictModel model, final RandomGenerator random, final SearchBudget budget) {
+        for(long restart = 0; restart <= maxRestarts; restart++) {
+            if(!budget.canContinue()) {
+                return false;
+            }
+            if(restart > 0) {
+                budget.addRestart();
+            }
+
+            final long initStart = System.nanoTime();
+            model.initialize(random);
+            final long repairStart = System.nanoTime();
+            final boolean solved = repair(model, random, budget);
+            budget.addInitTime(repairStart - initStart);
+            budget.addRepairTime(System.nanoTime() - repairStart);
+            if(solved) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Method for repairing the current assignment of a model
+     *
+     * @param model  problem to be solved
+     * @param random random number generator used for picking variables and breaking ties
+     * @param budget budget consulted before every step
+     * @return true if an assignment without conflicts was reached
+     */
+    private boolean repair(final ConflictModel model, final RandomGenerator random, final SearchBudget budget) {
+        final ConflictedVariables conflicted = new ConflictedVariables(model.getVariables());
+        for(int variable = 0; variable < model.getVariables(); variable++) {
+            if(model.getConflicts(variable) > 0) {
+                conflicted.add(variable);
+            }
+        }
+
+        for(long step = 0; step < maxStepsPerRestart; step++) {
+            final int variable = pickConflictedVariable(model, conflicted, random);
+            if(variable == NO_CONFLICTS) {
+                return true;
+            }
+            if(!budget.nextStep()) {
+                return false;
+            }
+
+            model.assign(variable, getValueWithMinConflicts(model, variable, random), conflicted);
+        }
+
+        return pickConflictedVariable(model, conflicted, random) == NO_CONFLICTS;
+    }
+
+    /**
+     * Method for picking a random variable which is in conflict. Variables in the set which are no longer in conflict
+     * are removed along the way.
+     *
+     * @param model      problem being solved
+     * @param conflicted set of variables which may be in conflict
+     * @param random     random number generator used for picking the variable
+     * @return conflicted variable or NO_CONFLICTS if there are no conflicts
+     */
+    private static int pickConflictedVariable(final ConflictModel model, final ConflictedVariables conflicted,
+                                              final RandomGenerator random) {
+        while(!conflicted.isEmpty()) {
+            final int variable = conflicted.get(random.nextInt(conflicted.size()));
+            if(model.getConflicts(variable) > 0) {
+                return variable;
+            }
+            conflicted.remove(variable);
+        }
+
+        return NO_CONFLICTS;
+    }
+
+    /**
+     * Method for finding the value of a variable with the fewest conflicts. Ties are broken uniformly at random.
+     *
+     * @param model    problem being solved
+     * @param variable variable being moved
+     * @param random   random number generator used for breaking ties
+     * @return value with the fewest conflicts
+     */
+    private static int getValueWithMinConflicts(final ConflictModel model, final int variable,
+                                                final RandomGenerator random) {
+        final int currentValue = model.getValue(variable);
+        int minConflicts = model.getConflicts(variable);
+        int valueWithMinConflicts = currentValue;
+        int ties = 1;
+
+        for(int value = 0; value < model.getDomainSize(variable); value++) {
+            if(value == currentValue) {
+                continue;
+            }
+
+            final int currentConflicts = model.getConflictsIfAssigned(variable, value);
+            if(currentConflicts < minConflicts) {
+                minConflicts = currentConflicts;
+                valueWithMinConflicts = value;
+                ties = 1;
+            } else if(currentConflicts == minConflicts && random.nextInt(++ties) == 0) {
+                valueWithMinConflicts = value;
+            }
+        }
+
+        return valueWithMinConflicts;
+    }
+}
@@ -0,0 +1,72 @@
+package csp;
+
+/**
+ * Budget of a single search, consulted by the Min Conflicts engine before every restart and every step so the caller
+ * can stop the search on a step limit, a deadline or a cancellation. The engine also reports the time it spends
+ * initializing and repairing the model.
+ */
+public interface SearchBudget {
+
+    /**
+     * Budget which never stops the search
+     */
+    SearchBudget UNLIMITED = new SearchBudget() {
+        @Override
+        public boolean canContinue() {
+            return true;
+        }
+
+        @Override
+        public boolean nextStep() {
+            return true;
+        }
+
+        @Override
+        public void addRestart() {
+            // Nothing is counted
+        }
+
+        @Override
+        public void addInitTime(final long nanos) {
+            // Nothing is counted
+        }
+
+        @Override
+        public void addRepairTime(final long nanos) {
+            // Nothing is counted
+        }
+    };
+
+    /**
+     * Method for checking if the search may start another restart
+     *
+     * @return true if the search is neither cancelled nor out of budget
+     */
+    boolean canContinue();
+
+    /**
+     * Method for counting a step if the search may make another one
+     *
+     * @return true if the step is allowed
+     */
+    boolean nextStep();
+
+    /**
+     * Method for counting a restart of the search
+     */
+    void addRestart();
+
+    /**
+     * Method for adding time spent initializing the model
+     *
+     * @param nanos time in nanoseconds
+     */
+    void addInitTime(long nanos);
+
+    /**
+     * Method for adding time spent repairing the model
+     *
+     * @param nanos time in nanoseconds
+     */
+    void addRepairTime(long nanos);
+}
@@ -0,0 +1,120 @@
+package ida;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Pipeline solving a file of puzzles. Puzzles are parsed on the calling thread, solved on a fixed number of worker
+ * threads and written in input order as soon as all earlier puzzles are written. At most twice as many puzzles as
+ * there are workers are in flight, so memory stays bounded for files of any length. Every puzzle produces one line:
+ * its number, the outcome, the number of moves, the solving time in milliseconds and the moves as the initials of
+ * the directions the tiles move in.
+ */
+public final class BatchSolver {
+    private final Function<GoalLayout, IDASolver> solverFactory;
+    private final int threads;
+    private final Map<GoalLayout, IDASolver> solvers;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param solverFactory factory creating the solver for a goal layout, called once per layout
+     * @param threads       number of worker threads
+     */
+    public BatchSolver(final Function<GoalLayout, IDASolver> solverFactory, final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.solverFactory = solverFactory;
+        this.threads = threads;
+        this.solvers = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Method for solving all puzzles of a file
+     *
+     * @param input  puzzle file
+     * @param output writer receiving one line per puzzle, flushed at the end
+     * @return number of puzzles read
+     * @throws IOException if the file cannot be read or is malformed, or the output cannot be written
+     */
+    public long run(final Path input, final Writer output) throws IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final Deque<Future<String>> inFlight = new ArrayDeque<>();
+        long count = 0;
+
+        try (final PuzzleReader reader = new PuzzleReader(input)) {
+            PuzzleReader.Puzzle puzzle;
+            while ((puzzle = reader.next()) != null) {
+                final long number = ++count;
+                final PuzzleReader.Puzzle current = puzzle;
+                inFlight.add(executor.submit(() -> solve(number, current)));
+
+                while (!inFlight.isEmpty() && (inFlight.size() > 2 * threads || inFlight.peek().isDone())) {
+                    output.write(take(inFlight));
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                output.write(take(inFlight));
+            }
+            output.flush();
+            return count;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method for solving a single puzzle and formatting its line
+     *
+     * @param number number of the puzzle in the file, starting from 1
+     * @param puzzle puzzle to be solved
+     * @return output line of the puzzle
+     */
+    private String solve(final long number, final PuzzleReader.Puzzle puzzle) {
+        final StringBuilder sb = new StringBuilder().append(number).append(' ');
+        final long start = System.nanoTime();
+        try {
+            final GoalLayout layout = GoalLayout.of(puzzle.getBoard().length, puzzle.getZeroIndex());
+            final Solution solution = solvers.computeIfAbsent(layout, solverFactory).solve(puzzle.getBoard());
+            final long stop = System.nanoTime();
+
+            sb.append(solution.getStatus()).append(' ').append(solution.getLength()).append(' ')
+                    .append((stop - start) / 1_000_000.0).append(' ');
+            for (final Move move : solution.getMoves()) {
+                sb.append(Character.toUpperCase(move.getDirection().charAt(0)));
+            }
+        } catch (final IllegalArgumentException e) {
+            sb.append("INVALID 0 0.0 ").append(e.getMessage());
+        }
+        return sb.append(System.lineSeparator()).toString();
+    }
+
+    /**
+     * Method for waiting for the oldest puzzle in flight
+     *
+     * @param inFlight results of the puzzles in flight in input order
+     * @return output line of the oldest puzzle
+     * @throws IOException if solving the puzzle failed or the thread was interrupted
+     */
+    private static String take(final Deque<Future<String>> inFlight) throws IOException {
+        try {
+            return inFlight.poll().get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a puzzle", e);
+        } catch (final ExecutionException e) {
+            throw new IOException("Solving a puzzle failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package ida;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional breadth-first search meeting in the middle. The backward side only depends on the goal, so it is
+ * searched once, on the first solve, and kept as a perimeter of all boards within a fixed depth of the goal. Every
+ * solve then runs the forward side one whole layer at a time until a board touches the perimeter, which makes the
+ * first meeting optimal. For boards up to 3x3 the perimeter holds every solvable board and a solve is reduced to
+ * walking the stored moves. Boards are packed into longs with four bits per tile, which limits the search to boards
+ * of at most 4x4, and moves are applied to the packed boards directly. Both sides remember the move which first
+ * reached every board, so the path is rebuilt by walking back with inverse moves. The statistics of a solve hold one
+ * iteration per forward layer with the layer's depth as its threshold, preceded by the backward search if the solve
+ * built the perimeter.
+ */
+final class BidirectionalSearch {
+    static final int MAX_BOARD_SIZE = 4;
+    static final int DEFAULT_MAX_STATES = 1 << 22;
+
+    private static final byte NO_MOVE = 4;
+
+    private final Board goal;
+    private final int boardSize;
+    private final int maxStates;
+    private final Move[][] moves;
+    private LongStateMap perimeter;
+    private int perimeterDepth;
+    private volatile boolean built;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param goal      board representing the goal position
+     * @param maxStates maximum number of boards stored by each side before giving up
+     */
+    BidirectionalSearch(final Board goal, final int maxStates) {
+        if (goal.getSize() > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Bidirectional search supports boards up to " + MAX_BOARD_SIZE + "x" + MAX_BOARD_SIZE);
+        }
+        this.goal = goal;
+        this.boardSize = goal.getSize();
+        this.maxStates = maxStates;
+        this.moves = generateMoves(boardSize);
+        this.built = false;
+    }
+
+    /**
+     * Method for finding a shortest path from the start to the goal position
+     *
+     * @param root board representing the starting position
+     * @return moves from the start to the goal position, or null if there are none or the state limit was reached
+     */
+    PathStack solve(final Board root) {
+        return solve(root, new SearchStatistics());
+    }
+
+    /**
+     * Method for finding a shortest path from the start to the goal position and recording the work of every layer
+     *
+     * @param root       board representing the starting position
+     * @param statistics statistics receiving the layers
+     * @return moves from the start to the goal position, or null if there are none or the state limit was reached
+     */
+    PathStack solve(final Board root, final SearchStatistics statistics) {
+        final SearchCounters counters = new SearchCounters();
+        long start = System.nanoTime();
+        if (!built && build(counters)) {
+            final long stop = System.nanoTime();
+            statistics.addIteration(perimeterDepth, counters, stop - start);
+            counters.clear();
+            start = stop;
+        }
+        final long rootKey = pack(root);
+        final LongStateMap forward = new LongStateMap();
+        forward.putIfAbsent(rootKey, NO_MOVE);
+        if (perimeter.contains(rootKey)) {
+            statistics.addIteration(0, counters, System.nanoTime() - start);
+            return path(rootKey, forward, 0);
+        }
+        final Frontier frontier = new Frontier(rootKey, root.getZeroIndex());
+        int depth = 0;
+
+        while (frontier.count > 0) {
+            if (forward.size() > maxStates) {
+                return null;
+            }
+            final int count = frontier.count;
+            final long[] keys = frontier.keys;
+            final byte[] zeroIndexes = frontier.zeroIndexes, reachedBy = frontier.reachedBy;
+            frontier.next(count * 2);
+            depth++;
+            for (int i = 0; i < count; i++) {
+                final long key = keys[i];
+                final int zeroIndex = zeroIndexes[i];
+                counters.countExpanded();
+                for (final Move move : moves[zeroIndex]) {
+                    if (move.inverse().ordinal() == reachedBy[i]) {
+                        continue;
+                    }
+                    final long child = apply(key, zeroIndex, move);
+                    counters.countReached(depth);
+                    if (!forward.putIfAbsent(child, (byte) move.ordinal())) {
+                        continue;
+                    }
+                    if (perimeter.contains(child)) {
+                        statistics.addIteration(depth, counters, System.nanoTime() - start);
+                        return path(child, forward, depth);
+                    }
+                    frontier.add(child, zeroIndex + move.getBlankRowDelta() * boardSize + move.getBlankColDelta(), move.ordinal());
+                }
+            }
+            final long stop = System.nanoTime();
+            statistics.addIteration(depth, counters, stop - start);
+            counters.clear();
+            start = stop;
+        }
+        return null;
+    }
+
+    /**
+     * Method for searching the backward side from the goal, layer by layer, until the next layer would exceed the
+     * state limit or no boards are left
+     *
+     * @param counters counters receiving the work of the backward side
+     * @return true if this call built the perimeter, false if another thread already had
+     */
+    private synchronized boolean build(final SearchCounters counters) {
+        if (built) {
+            return false;
+        }
+        final long goalKey = pack(goal);
+        final LongStateMap backward = new LongStateMap();
+        backward.putIfAbsent(goalKey, NO_MOVE);
+        final Frontier frontier = new Frontier(goalKey, goal.getZeroIndex());
+        int depth = 0;
+
+        while (frontier.count > 0 && backward.size() + frontier.count * 2L <= maxStates) {
+            final int count = frontier.count;
+            final long[] keys = frontier.keys;
+            final byte[] zeroIndexes = frontier.zeroIndexes, reachedBy = frontier.reachedBy;
+            frontier.next(count * 2);
+            depth++;
+            for (int i = 0; i < count; i++) {
+                final long key = keys[i];
+                final int zeroIndex = zeroIndexes[i];
+                counters.countExpanded();
+                for (final Move move : moves[zeroIndex]) {
+                    if (move.inverse().ordinal() == reachedBy[i]) {
+                        continue;
+                    }
+                    final long child = apply(key, zeroIndex, move);
+                    counters.countReached(depth);
+                    if (backward.putIfAbsent(child, (byte) move.ordinal())) {
+                        frontier.add(child, zeroIndex + move.getBlankRowDelta() * boardSize + move.getBlankColDelta(), move.ordinal());
+                    }
+                }
+            }
+        }
+        perimeter = backward;
+        perimeterDepth = depth;
+        built = true;
+        return true;
+    }
+
+    /**
+     * Method for rebuilding the path through the board where both sides met
+     *
+     * @param meeting packed board reached by both sides
+     * @param forward moves which reached the boards from the start position
+     * @param depth   number of moves from the start position to the meeting board
+     * @return moves from the start to the goal position
+     */
+    private PathStack path(final long meeting, final LongStateMap forward, final int depth) {
+        final PathStack toStart = new PathStack(depth);
+        long key = meeting;
+        byte reachedBy;
+        while ((reachedBy = forward.get(key)) != NO_MOVE) {
+            final Move move = Move.valueOf(reachedBy);
+            toStart.push(move);
+            key = apply(key, zeroIndexOf(key), move.inverse());
+        }
+
+        final PathStack path = new PathStack(depth + perimeterDepth);
+        while (toStart.size() > 0) {
+            path.push(toStart.pop());
+        }
+        key = meeting;
+        while ((reachedBy = perimeter.get(key)) != NO_MOVE) {
+            final Move move = Move.valueOf(reachedBy).inverse();
+            path.push(move);
+            key = apply(key, zeroIndexOf(key), move);
+        }
+        return path;
+    }
+
+    /**
+     * Method for generating the possible moves for every position of the zero/blank tile
+     *
+     * @param boardSize size of the board
+     * @return possible moves indexed by the index of the zero/blank tile
+     */
+    private static Move[][] generateMoves(final int boardSize) {
+        final Move[][] moves = new Move[boardSize * boardSize][];
+        for (int i = 0; i < moves.length; i++) {
+            final int zeroRow = i / boardSize, zeroCol = i % boardSize;
+            moves[i] = Arrays.stream(Move.all())
+                    .filter(move -> {
+                        final int row = zeroRow + move.getBlankRowDelta(), col = zeroCol + move.getBlankColDelta();
+                        return row >= 0 && row < boardSize && col >= 0 && col < boardSize;
+                    })
+                    .toArray(Move[]::new);
+        }
+        return moves;
+    }
+
+    /**
+     * Method for packing a board into a long with four bits per tile
+     *
+     * @param board board to be packed
+     * @return packed board
+     */
+    private long pack(final Board board) {
+        long key = 0;
+        for (int i = 0; i < boardSize * boardSize; i++) {
+            key |= (long) board.getTile(i) << (4 * i);
+        }
+        return key;
+    }
+
+    /**
+     * Method for finding the zero/blank tile in a packed board
+     *
+     * @param key packed board
+     * @return index of the zero/blank tile
+     */
+    private static int zeroIndexOf(final long key) {
+        int index = 0;
+        while (((key >>> (4 * index)) & 15) != 0) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Method for applying a move to a packed board
+     *
+     * @param key       packed board
+     * @param zeroIndex index of the zero/blank tile in the packed board
+     * @param move      move to be applied, must be possible
+     * @return packed board after the move
+     */
+    private long apply(final long key, final int zeroIndex, final Move move) {
+        final int newZeroIndex = zeroIndex + move.getBlankRowDelta() * boardSize + move.getBlankColDelta();
+        final long tile = (key >>> (4 * newZeroIndex)) & 15;
+        return (key & ~(15L << (4 * newZeroIndex))) | (tile << (4 * zeroIndex));
+    }
+
+    /**
+     * Deepest layer of boards reached by one side, stored as parallel arrays of packed boards, zero/blank tile
+     * indices and the moves which reached them
+     */
+    private static final class Frontier {
+        private long[] keys;
+        private byte[] zeroIndexes;
+        private byte[] reachedBy;
+        private int count;
+
+        /**
+         * Constructor with parameters
+         *
+         * @param key       packed starting board of the side
+         * @param zeroIndex index of the zero/blank tile in the starting board
+         */
+        private Frontier(final long key, final int zeroIndex) {
+            this.keys = new long[]{key};
+            this.zeroIndexes = new byte[]{(byte) zeroIndex};
+            this.reachedBy = new byte[]{NO_MOVE};
+            this.count = 1;
+        }
+
+        /**
+         * Method for starting the next layer. Arrays of the current layer are replaced, not cleared, so they can be
+         * read while the next layer is filled.
+         *
+         * @param capacity expected number of boards in the next layer
+         */
+        private void next(final int capacity) {
+            keys = new long[Math.max(16, capacity)];
+            zeroIndexes = new byte[keys.length];
+            reachedBy = new byte[keys.length];
+            count = 0;
+        }
+
+        /**
+         * Method for adding a board to the layer
+         *
+         * @param key       packed board
+         * @param zeroIndex index of the zero/blank tile in the board
+         * @param move      ordinal of the move which reached the board
+         */
+        private void add(final long key, final int zeroIndex, final int move) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+                zeroIndexes = Arrays.copyOf(zeroIndexes, count * 2);
+                reachedBy = Arrays.copyOf(reachedBy, count * 2);
+            }
+            keys[count] = key;
+            zeroIndexes[count] = (byte) zeroIndex;
+            reachedBy[count] = (byte) move;
+            count++;
+        }
+    }
+}
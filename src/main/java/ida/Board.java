@@ -0,0 +1,203 @@
+package ida;
+
+import java.util.Arrays;
+
+/**
+ * Class representing a mutable board packed into one byte per tile in row-major order. Moves are applied and undone
+ * in place, so the search does not allocate a new board per node.
+ */
+public final class Board {
+    private final byte[] tiles;
+    private final byte[] positions;
+    private final int size;
+    private int zeroIndex;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param board   board matrix to be packed
+     * @param zeroRow row coordinate of the zero/blank tile
+     * @param zeroCol col coordinate of the zero/blank tile
+     */
+    public Board(final int[][] board, final int zeroRow, final int zeroCol) {
+        if (board.length * board.length - 1 > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Board is too large: " + board.length + "x" + board.length);
+        }
+        this.size = board.length;
+        this.tiles = new byte[size * size];
+        this.positions = new byte[size * size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                tiles[i * size + j] = (byte) board[i][j];
+                positions[board[i][j]] = (byte) (i * size + j);
+            }
+        }
+        this.zeroIndex = zeroRow * size + zeroCol;
+    }
+
+    /**
+     * Constructor with parameters, locating the zero/blank tile in the board matrix
+     *
+     * @param board board matrix to be packed
+     */
+    public Board(final int[][] board) {
+        this(board, zeroIndexOf(board) / board.length, zeroIndexOf(board) % board.length);
+    }
+
+    /**
+     * Copy constructor
+     *
+     * @param other board to be copied
+     */
+    public Board(final Board other) {
+        this.size = other.size;
+        this.tiles = other.tiles.clone();
+        this.positions = other.positions.clone();
+        this.zeroIndex = other.zeroIndex;
+    }
+
+    /**
+     * Method for finding the zero/blank tile in a board matrix
+     *
+     * @param board board matrix
+     * @return row-major index of the zero/blank tile
+     */
+    private static int zeroIndexOf(final int[][] board) {
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board.length; j++) {
+                if (board[i][j] == 0) {
+                    return i * board.length + j;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Board has no zero/blank tile");
+    }
+
+    /**
+     * Getter for size
+     *
+     * @return size - number of rows and columns of the board
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Method for getting the tile at a given position
+     *
+     * @param index row-major index of the position
+     * @return tile at the given position, 0 for the blank
+     */
+    public int getTile(final int index) {
+        return tiles[index];
+    }
+
+    /**
+     * Method for getting the position of a given tile
+     *
+     * @param tile tile to be found, 0 for the blank
+     * @return row-major index of the tile's position
+     */
+    public int getPosition(final int tile) {
+        return positions[tile];
+    }
+
+    /**
+     * Getter for zeroIndex
+     *
+     * @return zeroIndex - row-major index of the zero/blank tile
+     */
+    public int getZeroIndex() {
+        return zeroIndex;
+    }
+
+    /**
+     * Getter for zeroRow
+     *
+     * @return zeroRow - row coordinate of the zero/blank tile
+     */
+    public int getZeroRow() {
+        return zeroIndex / size;
+    }
+
+    /**
+     * Getter for zeroCol
+     *
+     * @return zeroCol - col coordinate of the zero/blank tile
+     */
+    public int getZeroCol() {
+        return zeroIndex % size;
+    }
+
+    /**
+     * Method for checking if a move is possible from the current position
+     *
+     * @param move move to be checked
+     * @return true if the zero/blank tile stays on the board after the move
+     */
+    public boolean canMove(final Move move) {
+        final int row = getZeroRow() + move.getBlankRowDelta();
+        final int col = getZeroCol() + move.getBlankColDelta();
+        return row >= 0 && row < size && col >= 0 && col < size;
+    }
+
+    /**
+     * Method for applying a move in place. The move must be possible.
+     *
+     * @param move move to be applied
+     * @return tile which was moved into the blank
+     */
+    public int move(final Move move) {
+        final int newZeroIndex = zeroIndex + move.getBlankRowDelta() * size + move.getBlankColDelta();
+        final byte tile = tiles[newZeroIndex];
+        tiles[zeroIndex] = tile;
+        tiles[newZeroIndex] = 0;
+        positions[tile] = (byte) zeroIndex;
+        positions[0] = (byte) newZeroIndex;
+        zeroIndex = newZeroIndex;
+        return tile;
+    }
+
+    /**
+     * Method for undoing a move which was applied last
+     *
+     * @param move move to be undone
+     */
+    public void undo(final Move move) {
+        move(move.inverse());
+    }
+
+    /**
+     * Method for generating a board matrix from the packed board
+     *
+     * @return new board matrix
+     */
+    public int[][] toMatrix() {
+        final int[][] board = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                board[i][j] = tiles[i * size + j];
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Overridden equals method for comparing two boards, used for determining if IDA* reached the goal
+     *
+     * @param o board
+     * @return true if boards have the same tiles
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final Board board = (Board) o;
+        return zeroIndex == board.zeroIndex && Arrays.equals(tiles, board.tiles);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(tiles);
+    }
+}
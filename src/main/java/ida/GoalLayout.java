@@ -0,0 +1,120 @@
+package ida;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable goal layout of a board size and blank position: the goal coordinates of every tile and the goal board.
+ * Layouts are computed once and shared by all solvers and threads.
+ */
+public final class GoalLayout {
+    private static final Map<Long, GoalLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final int boardSize;
+    private final int zeroIndex;
+    private final int[] rowCoordinates;
+    private final int[] colCoordinates;
+    private final Board goal;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param boardSize size of the board
+     * @param zeroIndex index of the zero/blank tile in the goal position board
+     */
+    private GoalLayout(final int boardSize, final int zeroIndex) {
+        final int numberOfElements = boardSize * boardSize - 1;
+        this.boardSize = boardSize;
+        this.zeroIndex = zeroIndex;
+        this.rowCoordinates = IDAUtil.generateRowCoordinates(boardSize, numberOfElements);
+        this.colCoordinates = IDAUtil.generateColCoordinates(boardSize, numberOfElements);
+        IDAUtil.fixCoordinates(rowCoordinates, colCoordinates, zeroIndex, boardSize);
+        this.goal = new Board(IDAUtil.generateGoalBoard(boardSize, rowCoordinates, colCoordinates), zeroIndex / boardSize, zeroIndex % boardSize);
+    }
+
+    /**
+     * Method for getting the shared layout of a board size and blank position
+     *
+     * @param boardSize size of the board
+     * @param zeroIndex index of the zero/blank tile in the goal position board
+     * @return goal layout
+     */
+    public static GoalLayout of(final int boardSize, final int zeroIndex) {
+        if (boardSize < 2 || zeroIndex < 0 || zeroIndex >= boardSize * boardSize) {
+            throw new IllegalArgumentException("Invalid goal layout: " + boardSize + "x" + boardSize + " board with zero at " + zeroIndex);
+        }
+        return LAYOUTS.computeIfAbsent(((long) boardSize << 32) | zeroIndex, key -> new GoalLayout(boardSize, zeroIndex));
+    }
+
+    /**
+     * Getter for boardSize
+     *
+     * @return boardSize - size of the board
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Getter for zeroIndex
+     *
+     * @return zeroIndex - index of the zero/blank tile in the goal position board
+     */
+    public int getZeroIndex() {
+        return zeroIndex;
+    }
+
+    /**
+     * Getter for rowCoordinates
+     *
+     * @return copy of rowCoordinates - row coordinates of all tiles in the goal position
+     */
+    public int[] getRowCoordinates() {
+        return rowCoordinates.clone();
+    }
+
+    /**
+     * Getter for colCoordinates
+     *
+     * @return copy of colCoordinates - column coordinates of all tiles in the goal position
+     */
+    public int[] getColCoordinates() {
+        return colCoordinates.clone();
+    }
+
+    /**
+     * Method for generating a matrix representing the goal board
+     *
+     * @return matrix representing the goal board
+     */
+    public int[][] getGoalBoard() {
+        return goal.toMatrix();
+    }
+
+    /**
+     * Method for getting the shared row coordinates without copying them, they must not be modified
+     *
+     * @return row coordinates of all tiles in the goal position
+     */
+    int[] rowCoordinates() {
+        return rowCoordinates;
+    }
+
+    /**
+     * Method for getting the shared column coordinates without copying them, they must not be modified
+     *
+     * @return column coordinates of all tiles in the goal position
+     */
+    int[] colCoordinates() {
+        return colCoordinates;
+    }
+
+    /**
+     * Method for getting the shared goal board, it must not be modified
+     *
+     * @return packed goal board
+     */
+    Board goal() {
+        return goal;
+    }
+}
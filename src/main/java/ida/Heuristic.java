@@ -0,0 +1,48 @@
+package ida;
+
+/**
+ * Interface of the heuristic estimates used by IDA*. Implementations are evaluated once for the start position and
+ * then updated after every move, so the cost per expanded node does not depend on the size of the board. Heuristics
+ * which need more than the previous estimate to update it keep that state in an instance per search.
+ */
+public interface Heuristic {
+
+    /**
+     * Method for calculating heuristic estimate of the cost to travel to the goal from given board state
+     *
+     * @param board packed board to be evaluated
+     * @return heuristic estimate of the cost to travel to the goal from given board state
+     */
+    int evaluate(Board board);
+
+    /**
+     * Method for updating the heuristic estimate after a single tile moved into the blank
+     *
+     * @param board     packed board after the move
+     * @param h         heuristic estimate of the board before the move
+     * @param tile      tile which was moved
+     * @param fromIndex row-major index the tile was moved from
+     * @param toIndex   row-major index the tile was moved to
+     * @return heuristic estimate of the board after the move
+     */
+    int update(Board board, int h, int tile, int fromIndex, int toIndex);
+
+    /**
+     * Method for getting the heuristic used by a single depth-first search starting at the given board. The returned
+     * instance must not be shared between threads, and every update on it is followed by a revert once the move is
+     * undone. Stateless heuristics return themselves.
+     *
+     * @param board packed board the search starts from
+     * @return heuristic for the search
+     */
+    default Heuristic forSearch(final Board board) {
+        return this;
+    }
+
+    /**
+     * Method for reverting the last update after its move was undone
+     */
+    default void revert() {
+        // Stateless heuristics have nothing to revert
+    }
+}
@@ -0,0 +1,97 @@
+package ida;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Depth-first search of a single IDA* iteration on one board. The board, the path and the heuristic are modified in
+ * place, so a search must not be shared between threads, while the goal can be.
+ */
+final class IDASearch {
+    static final int FOUND = -1;
+
+    private final Board board;
+    private final PathStack path;
+    private final Heuristic heuristic;
+    private final TranspositionTable table;
+    private final Board goal;
+    private final AtomicBoolean cancelled;
+    private final SearchCounters counters;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param board     board the search starts from, modified in place
+     * @param path      moves taken from the start position to the board
+     * @param heuristic heuristic estimating the cost to travel to the goal, obtained for this search from the start board
+     * @param table     table of boards already reached in the current iteration, null for none
+     * @param goal      board representing the goal position
+     * @param cancelled flag which stops the search when set
+     * @param counters  counters receiving the work done by the search
+     */
+    IDASearch(final Board board, final PathStack path, final Heuristic heuristic, final TranspositionTable table,
+              final Board goal, final AtomicBoolean cancelled, final SearchCounters counters) {
+        this.board = board;
+        this.path = path;
+        this.heuristic = heuristic;
+        this.table = table;
+        this.goal = goal;
+        this.cancelled = cancelled;
+        this.counters = counters;
+    }
+
+    /**
+     * Recursive method executing IDA* algorithm, applying all possible further moves in place, searching the
+     * resulting positions and undoing the moves again. The move undoing the last move on the path is skipped, and
+     * boards already reached in this iteration at the same or lower cost are pruned if a transposition table is
+     * given. When the goal is found the board is left in the goal position and the path holds all moves from the
+     * start.
+     *
+     * @param g         the cost to travel from the start position to this board
+     * @param h         heuristic estimate of the cost to travel to the goal from this board
+     * @param hash      Zobrist hash of the board, unused without a transposition table
+     * @param threshold threshold for the current run of the algorithm
+     * @return either -1 if goal was found or a new threshold value, Integer.MAX_VALUE if the search was cancelled
+     */
+    int search(final int g, final int h, final long hash, final int threshold) {
+        final int f = g + h;
+
+        if (f > threshold) {
+            return f;
+        }
+        if (h == 0 && board.equals(goal)) {
+            return FOUND;
+        }
+        if (cancelled.get() || (table != null && table.visit(hash, g))) {
+            return Integer.MAX_VALUE;
+        }
+
+        int min = Integer.MAX_VALUE;
+        final Move parentMove = path.peek();
+        counters.countExpanded();
+
+        for (final Move move : Move.all()) {
+            if (!board.canMove(move) || (parentMove != null && move == parentMove.inverse())) {
+                continue;
+            }
+            final int oldZeroIndex = board.getZeroIndex();
+            final int tile = board.move(move);
+            final int childH = heuristic.update(board, h, tile, board.getZeroIndex(), oldZeroIndex);
+            path.push(move);
+            counters.countGenerated(g + 1);
+
+            final long childHash = table != null ? table.update(hash, tile, board.getZeroIndex(), oldZeroIndex) : 0;
+            int temp = search(g + 1, childH, childHash, threshold);
+            if (temp == FOUND) {
+                return FOUND;
+            }
+
+            path.pop();
+            board.undo(move);
+            heuristic.revert();
+            if (temp < min) {
+                min = temp;
+            }
+        }
+        return min;
+    }
+}
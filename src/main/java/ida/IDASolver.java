@@ -0,0 +1,152 @@
+package ida;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reentrant solver for one goal layout, running IDA* or, for small boards, a bidirectional breadth-first search. All
+ * state of a solve lives in the call, so a single solver can solve many boards from many threads at once, sharing
+ * its goal layout and heuristic.
+ */
+public final class IDASolver {
+    private final GoalLayout layout;
+    private final Heuristic heuristic;
+    private final int transpositionTableBits;
+    private final int parallelism;
+    private final SearchEngine engine;
+    private final BidirectionalSearch bidirectionalSearch;
+
+    /**
+     * Constructor with parameters for a sequential solver without a transposition table
+     *
+     * @param layout    goal layout of the boards
+     * @param heuristic heuristic estimating the cost to travel to the goal, must be safe to share between threads
+     */
+    public IDASolver(final GoalLayout layout, final Heuristic heuristic) {
+        this(layout, heuristic, 0, 1);
+    }
+
+    /**
+     * Constructor with parameters
+     *
+     * @param layout                 goal layout of the boards
+     * @param heuristic              heuristic estimating the cost to travel to the goal, must be safe to share
+     *                               between threads
+     * @param transpositionTableBits base 2 logarithm of the transposition table size per solve, 0 for none
+     * @param parallelism            number of threads per solve, a transposition table is not used with more than one
+     */
+    public IDASolver(final GoalLayout layout, final Heuristic heuristic, final int transpositionTableBits, final int parallelism) {
+        this(layout, heuristic, transpositionTableBits, parallelism, SearchEngine.IDA_STAR);
+    }
+
+    /**
+     * Constructor with parameters selecting the search engine
+     *
+     * @param layout                 goal layout of the boards
+     * @param heuristic              heuristic estimating the cost to travel to the goal, must be safe to share
+     *                               between threads, not used by the bidirectional search
+     * @param transpositionTableBits base 2 logarithm of the transposition table size per solve, 0 for none
+     * @param parallelism            number of threads per solve, a transposition table is not used with more than one
+     * @param engine                 engine searching for the solution
+     */
+    public IDASolver(final GoalLayout layout, final Heuristic heuristic, final int transpositionTableBits, final int parallelism,
+                     final SearchEngine engine) {
+        if (transpositionTableBits < 0) {
+            throw new IllegalArgumentException("Transposition table size must not be negative");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        this.layout = layout;
+        this.heuristic = heuristic;
+        this.transpositionTableBits = transpositionTableBits;
+        this.parallelism = parallelism;
+        this.engine = engine;
+        this.bidirectionalSearch = engine == SearchEngine.BIDIRECTIONAL ? new BidirectionalSearch(layout.goal(), BidirectionalSearch.DEFAULT_MAX_STATES) : null;
+    }
+
+    /**
+     * Getter for layout
+     *
+     * @return layout - goal layout of the boards
+     */
+    public GoalLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Getter for engine
+     *
+     * @return engine - engine searching for the solution
+     */
+    public SearchEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Method for solving a board
+     *
+     * @param board board matrix representing the starting position
+     * @return solution with the moves to the goal position, or the reason there is none
+     * @throws IllegalArgumentException if the board has the wrong size or does not hold every tile exactly once
+     */
+    public Solution solve(final int[][] board) {
+        if (board.length != layout.getBoardSize()) {
+            throw new IllegalArgumentException("Expected a " + layout.getBoardSize() + "x" + layout.getBoardSize() + " board");
+        }
+        if (!IDAUtil.isSolvable(board, layout.getZeroIndex())) {
+            return Solution.unsolved(Solution.Status.NOT_SOLVABLE);
+        }
+
+        final Board root = new Board(board);
+        if (engine == SearchEngine.BIDIRECTIONAL) {
+            final SearchStatistics statistics = new SearchStatistics();
+            final PathStack path = bidirectionalSearch.solve(root, statistics);
+            return path != null ? Solution.solved(path, statistics) : Solution.unsolved(Solution.Status.NOT_FOUND, statistics);
+        }
+        if (parallelism > 1) {
+            final SearchStatistics statistics = new SearchStatistics();
+            final PathStack path = ParallelIDAStar.solve(root, layout.goal(), heuristic, parallelism, ParallelIDAStar.DEFAULT_FRONTIER_SIZE, statistics);
+            return path != null ? Solution.solved(path, statistics) : Solution.unsolved(Solution.Status.NOT_FOUND, statistics);
+        }
+        final TranspositionTable table = transpositionTableBits > 0 ? new TranspositionTable(layout.getBoardSize(), transpositionTableBits) : null;
+        return solve(root, heuristic.evaluate(root), table);
+    }
+
+    /**
+     * Method running the IDA* iterations with increasing thresholds on a single thread
+     *
+     * @param root          board representing the starting position
+     * @param rootHeuristic heuristic estimate of the cost to travel to the goal from the starting position board
+     * @param table         table of boards already reached in the current iteration, null for none
+     * @return solution with the moves to the goal position, or NOT_FOUND if the estimated maximum is exceeded
+     */
+    Solution solve(final Board root, final int rootHeuristic, final TranspositionTable table) {
+        final Board board = new Board(root);
+        final PathStack path = new PathStack(IDAUtil.pathCapacity(rootHeuristic));
+        final SearchStatistics statistics = new SearchStatistics();
+        final SearchCounters counters = new SearchCounters();
+        final IDASearch search = new IDASearch(board, path, heuristic.forSearch(board), table, layout.goal(), new AtomicBoolean(), counters);
+        final long rootHash = table != null ? table.hash(root) : 0;
+        int threshold = rootHeuristic;
+        // The heuristic of the start position was evaluated by the caller
+        counters.countHeuristicEvaluation();
+
+        while (true) {
+            if (table != null) {
+                table.nextIteration();
+            }
+            final long start = System.nanoTime();
+            int temp = search.search(0, rootHeuristic, rootHash, threshold);
+            statistics.addIteration(threshold, counters, System.nanoTime() - start);
+            counters.clear();
+
+            if (temp == IDASearch.FOUND) {
+                return Solution.solved(path, statistics);
+            }
+            if (temp >= IDAUtil.ESTIMATED_MAXIMUM_POSSIBLE_F_VALUE) {
+                return Solution.unsolved(Solution.Status.NOT_FOUND, statistics);
+            }
+            threshold = temp;
+        }
+    }
+}
@@ -1,18 +1,11 @@
 package ida;
 
-import java.util.*;
-
 /**
  * Utility class with helper methods for IDA*
  */
 public final class IDAUtil {
 
-    private static final int FOUND = -1;
-    private static final int ESTIMATED_MAXIMUM_POSSIBLE_F_VALUE = 100;
-    private static int[] rowCoordinates;
-    private static int[] colCoordinates;
-    private static Node goal;
-    private static Node reachedGoal;
+    static final int ESTIMATED_MAXIMUM_POSSIBLE_F_VALUE = 100;
 
     /**
      * Utility class not meant for instantiation
@@ -21,6 +14,18 @@ public final class IDAUtil {
         // Util class
     }
 
+    /**
+     * Method for getting the number of moves a search path must hold. The first iteration always runs with the root
+     * heuristic as its threshold, even above the estimated maximum, and later ones stay below the estimated maximum.
+     * A path gets at most one move deeper than the threshold before it is cut off.
+     *
+     * @param rootHeuristic heuristic estimate of the cost to travel to the goal from the starting position board
+     * @return capacity of the search path
+     */
+    static int pathCapacity(final int rootHeuristic) {
+        return Math.max(ESTIMATED_MAXIMUM_POSSIBLE_F_VALUE, rootHeuristic) + 1;
+    }
+
     /**
      * Method for calculating heuristic estimate of the cost to travel to the goal from given board state
      *
@@ -46,45 +51,93 @@ public final class IDAUtil {
     }
 
     /**
-     * Method for determining if board is solvable
+     * Method for calculating heuristic estimate of the cost to travel to the goal from given packed board state
+     *
+     * @param board          packed board to be evaluated
+     * @param rowCoordinates array containing row coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     * @param colCoordinates array containing col coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     * @return heuristic estimate of the cost to travel to the goal from given board state
+     */
+    public static int heuristic(final Board board, final int[] rowCoordinates, final int[] colCoordinates) {
+        final int size = board.getSize();
+        int heuristic = 0;
+        for (int index = 0; index < size * size; index++) {
+            final int currentElement = board.getTile(index);
+            if (currentElement != 0) {
+                heuristic += Math.abs(index / size - rowCoordinates[currentElement - 1]) +
+                        Math.abs(index % size - colCoordinates[currentElement - 1]);
+            }
+        }
+        return heuristic;
+    }
+
+    /**
+     * Method for determining if board is solvable with the zero/blank tile last in the goal position
      *
      * @param board matrix board to be evaluated
      * @return true if board is solvable
      */
     public static boolean isSolvable(final int[][] board) {
-        final int[] puzzle = new int[board.length * board.length];
-        int inversionCount = 0;
-        int index = 0;
-        int zeroRow = board.length - 1;
+        return isSolvable(board, board.length * board.length - 1);
+    }
 
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board.length; j++) {
-                if (board[i][j] == 0) {
-                    zeroRow = board.length - i;
-                }
-                puzzle[index++] = board[i][j];
-            }
+    /**
+     * Method for determining if board is solvable for a goal position with the zero/blank tile at a given index.
+     * Every move swaps the blank with a tile, so it changes the parity of the permutation taking the board to the
+     * goal and the parity of the blank's Manhattan distance to its goal cell at the same time. The board is solvable
+     * exactly when both parities are equal. The permutation parity is the parity of its inversions, counted in
+     * O(n^2 log n) with a Fenwick tree.
+     *
+     * @param board     matrix board to be evaluated
+     * @param zeroIndex index of the zero/blank tile in the goal position board
+     * @return true if board is solvable
+     * @throws IllegalArgumentException if the board is not square or does not hold every tile exactly once
+     */
+    public static boolean isSolvable(final int[][] board, final int zeroIndex) {
+        final int boardSize = board.length;
+        final int cells = boardSize * boardSize;
+        if (zeroIndex < 0 || zeroIndex >= cells) {
+            throw new IllegalArgumentException("Zero index " + zeroIndex + " is outside the board");
         }
 
-        for (int i = 0; i < puzzle.length - 1; i++) {
-            if (puzzle[i] != 0) {
-                for (int j = i + 1; j < puzzle.length; j++) {
-                    if (puzzle[i] > puzzle[j] && puzzle[j] != 0) {
-                        inversionCount++;
-                    }
+        final int[] fenwickTree = new int[cells + 1];
+        final boolean[] seen = new boolean[cells];
+        long inversionCount = 0;
+        int blankDistance = 0;
+
+        for (int i = 0; i < boardSize; i++) {
+            if (board[i].length != boardSize) {
+                throw new IllegalArgumentException("Board is not square");
+            }
+            for (int j = 0; j < boardSize; j++) {
+                final int tile = board[i][j];
+                if (tile < 0 || tile >= cells || seen[tile]) {
+                    throw new IllegalArgumentException("Invalid or repeated tile " + tile);
+                }
+                seen[tile] = true;
+
+                // Index of the cell the tile occupies in the goal position
+                final int goalIndex = tile == 0 ? zeroIndex : tile - 1 < zeroIndex ? tile - 1 : tile;
+                if (tile == 0) {
+                    blankDistance = Math.abs(i - zeroIndex / boardSize) + Math.abs(j - zeroIndex % boardSize);
+                }
+
+                // Tiles seen so far which belong after this one in the goal position
+                final int placed = i * boardSize + j;
+                int notAfter = 0;
+                for (int k = goalIndex + 1; k > 0; k -= k & -k) {
+                    notAfter += fenwickTree[k];
+                }
+                inversionCount += placed - notAfter;
+                for (int k = goalIndex + 1; k <= cells; k += k & -k) {
+                    fenwickTree[k]++;
                 }
             }
         }
 
-        final boolean oddGridWidth = board.length % 2 == 1;
-        final boolean evenInversions = inversionCount % 2 == 0;
-        final boolean evenZeroRow = zeroRow % 2 == 0;
-
-        if (oddGridWidth && evenInversions) {
-            return true;
-        } else if (!oddGridWidth && evenZeroRow && !evenInversions) {
-            return true;
-        } else return !oddGridWidth && !evenZeroRow && evenInversions;
+        return inversionCount % 2 == blankDistance % 2;
     }
 
     /**
@@ -101,7 +154,6 @@ public final class IDAUtil {
         for (int i = 0; i < numberOfElements; i++) {
             rowCoordinates[i] = i / boardSize;
         }
-        IDAUtil.rowCoordinates = rowCoordinates;
         return rowCoordinates;
     }
 
@@ -119,7 +171,6 @@ public final class IDAUtil {
         for (int i = 0; i < numberOfElements; i++) {
             colCoordinates[i] = i % boardSize;
         }
-        IDAUtil.colCoordinates = colCoordinates;
         return colCoordinates;
     }
 
@@ -173,90 +224,114 @@ public final class IDAUtil {
      * @param zeroIndex     index of the zero/blank tile in the goal position board
      */
     public static void runIDAStar(final int[][] initBoard, final int zeroRow, final int zeroCol, final int rootHeuristic, final int[][] goalBoard, final int zeroIndex) {
-        final Node root = new Node(initBoard, zeroRow, zeroCol, rootHeuristic, null, "S");
-        final int goalZeroRow = zeroIndex / goalBoard.length, goalZeroCol = zeroIndex / goalBoard.length;
-        goal = new Node(goalBoard, goalZeroRow, goalZeroCol, 0, null, "G");
-
-        int threshold = rootHeuristic;
-
-        while (true) {
-            int temp = search(root, 0, threshold);
+        final GoalLayout layout = GoalLayout.of(goalBoard.length, zeroIndex);
+        final IDASolver solver = new IDASolver(layout, new ManhattanHeuristic(layout.rowCoordinates(), layout.colCoordinates()));
+        printSolution(initBoard, solver.solve(new Board(initBoard, zeroRow, zeroCol), rootHeuristic, null));
+    }
 
-            if (temp == FOUND) {
-                // not printing start, not printing boards, printing directions
-                printPath(true, true);
-                return;
-            }
-            if (temp >= ESTIMATED_MAXIMUM_POSSIBLE_F_VALUE) {
-                System.out.println("NOT FOUND");
-                return;
-            }
-            threshold = temp;
-        }
+    /**
+     * Method starting the IDA* algorithm used to solve the N puzzle with a given heuristic
+     *
+     * @param initBoard board matrix representing the starting position
+     * @param zeroRow   row coordinate of the zero/blank tile in the starting position board
+     * @param zeroCol   column coordinate of the zero/blank tile in the starting position board
+     * @param goalBoard board matrix representing the goal position
+     * @param zeroIndex index of the zero/blank tile in the goal position board
+     * @param heuristic heuristic estimating the cost to travel to the goal
+     */
+    public static void runIDAStar(final int[][] initBoard, final int zeroRow, final int zeroCol, final int[][] goalBoard, final int zeroIndex, final Heuristic heuristic) {
+        runIDAStar(initBoard, zeroRow, zeroCol, goalBoard, zeroIndex, heuristic, null);
     }
 
     /**
-     * Recursive method executing IDA* algorithm, iterating over the nodes, checking all possible further moves and
-     * choosing the best option depending on the heuristic cost of the children.
+     * Method starting the IDA* algorithm used to solve the N puzzle with a given heuristic and transposition table
      *
-     * @param node      node the algorithm is starting from
-     * @param g         the cost to travel from this node to the parent
-     * @param threshold threshold for the current run of the algorithm
-     * @return either -1 if goal was found or a new threshold value
+     * @param initBoard board matrix representing the starting position
+     * @param zeroRow   row coordinate of the zero/blank tile in the starting position board
+     * @param zeroCol   column coordinate of the zero/blank tile in the starting position board
+     * @param goalBoard board matrix representing the goal position
+     * @param zeroIndex index of the zero/blank tile in the goal position board
+     * @param heuristic heuristic estimating the cost to travel to the goal
+     * @param table     table of boards already reached in the current iteration, null for none
      */
-    private static int search(final Node node, final int g, final int threshold) {
-        final int f = g + heuristic(node.getBoardSnapshot(), rowCoordinates, colCoordinates);
+    public static void runIDAStar(final int[][] initBoard, final int zeroRow, final int zeroCol, final int[][] goalBoard, final int zeroIndex,
+                                  final Heuristic heuristic, final TranspositionTable table) {
+        final Board root = new Board(initBoard, zeroRow, zeroCol);
+        final IDASolver solver = new IDASolver(GoalLayout.of(goalBoard.length, zeroIndex), heuristic);
+        printSolution(initBoard, solver.solve(root, heuristic.evaluate(root), table));
+    }
 
-        if (f > threshold) {
-            return f;
-        }
-        if (node.equals(goal)) {
-            reachedGoal = node;
-            return FOUND;
-        }
+    /**
+     * Method starting the parallel IDA* algorithm used to solve the N puzzle with a given heuristic
+     *
+     * @param initBoard   board matrix representing the starting position
+     * @param zeroRow     row coordinate of the zero/blank tile in the starting position board
+     * @param zeroCol     column coordinate of the zero/blank tile in the starting position board
+     * @param goalBoard   board matrix representing the goal position
+     * @param zeroIndex   index of the zero/blank tile in the goal position board
+     * @param heuristic   heuristic estimating the cost to travel to the goal, shared by all threads
+     * @param parallelism number of threads searching subtrees
+     */
+    public static void runParallelIDAStar(final int[][] initBoard, final int zeroRow, final int zeroCol, final int[][] goalBoard,
+                                          final int zeroIndex, final Heuristic heuristic, final int parallelism) {
+        final IDASolver solver = new IDASolver(GoalLayout.of(goalBoard.length, zeroIndex), heuristic, 0, parallelism);
+        printSolution(initBoard, solver.solve(initBoard));
+    }
 
-        int min = Integer.MAX_VALUE;
+    /**
+     * Method starting the bidirectional breadth-first search used to solve small N puzzles
+     *
+     * @param initBoard board matrix representing the starting position
+     * @param zeroIndex index of the zero/blank tile in the goal position board
+     */
+    public static void runBidirectionalSearch(final int[][] initBoard, final int zeroIndex) {
+        final GoalLayout layout = GoalLayout.of(initBoard.length, zeroIndex);
+        final IDASolver solver = new IDASolver(layout, new ManhattanHeuristic(layout.rowCoordinates(), layout.colCoordinates()),
+                0, 1, SearchEngine.BIDIRECTIONAL);
+        printSolution(initBoard, solver.solve(initBoard));
+    }
 
-        for (final Node tempnode : nextNodes(node)) {
-            int temp = search(tempnode, g + 1, threshold);
-            if (temp == FOUND) {
-                return FOUND;
-            }
-            if (temp < min) {
-                min = temp;
-            }
+    /**
+     * Method for printing the outcome of a solve: the path from the start to the goal position, or why there is none
+     *
+     * @param initBoard board matrix representing the starting position
+     * @param solution  outcome of solving the board
+     */
+    public static void printSolution(final int[][] initBoard, final Solution solution) {
+        switch (solution.getStatus()) {
+            case SOLVED:
+                // not printing start, printing boards, printing directions
+                printPath(new Board(initBoard), solution, true, true);
+                break;
+            case NOT_SOLVABLE:
+                System.out.println("BOARD IS NOT SOLVABLE");
+                break;
+            default:
+                System.out.println("NOT FOUND");
         }
-        return min;
     }
 
     /**
-     * Method for printing the path from the start to the goal position
+     * Method for printing the path from the start to the goal position. Boards are restored by replaying the moves
+     * from the start position.
      *
+     * @param root               board representing the start position
+     * @param solution           solution holding the moves from the start to the goal position
      * @param printBoardPath     flag determining if board path should be printed
      * @param printDirectionPath flag determining if Direction path should be printed
      */
-    private static void printPath(final boolean printBoardPath, final boolean printDirectionPath) {
-        Node iter = reachedGoal;
-        final Deque<int[][]> stackBoardPathToGoal = new ArrayDeque<>();
-        final Deque<String> stackDirectionPathToGoal = new ArrayDeque<>();
-
-        while (iter.getParent() != null) {
-            stackBoardPathToGoal.push(iter.getBoardSnapshot());
-            stackDirectionPathToGoal.push(iter.getDirection());
-            iter = iter.getParent();
-        }
-
-        final Iterator<int[][]> boardIterator = stackBoardPathToGoal.iterator();
-        final Iterator<String> directionIterator = stackDirectionPathToGoal.iterator();
+    private static void printPath(final Board root, final Solution solution, final boolean printBoardPath, final boolean printDirectionPath) {
+        final Board board = new Board(root);
 
-        System.out.println(stackBoardPathToGoal.size());
+        System.out.println(solution.getLength());
 
-        while (boardIterator.hasNext() && directionIterator.hasNext()) {
+        for (final Move move : solution.getMoves()) {
+            board.move(move);
             if (printDirectionPath) {
-                System.out.println(directionIterator.next());
+                System.out.println(move.getDirection());
             }
             if (printBoardPath) {
-                printBoard(boardIterator.next());
+                printBoard(board.toMatrix());
             }
         }
     }
@@ -277,75 +352,4 @@ public final class IDAUtil {
         System.out.println("----------");
         System.out.println();
     }
-
-    /**
-     * Method for generating a list of all possible next steps from a given position
-     *
-     * @param node node representing the current state
-     * @return list containing 2 to 4 elements depending on where the zero is positioned in the starting state
-     */
-    private static List<Node> nextNodes(final Node node) {
-        final List<Node> nextNodes = new LinkedList<>();
-
-        int oldRow = node.getZeroRow(), oldCol = node.getZeroCol();
-
-        if (node.getZeroRow() != 0) { // zero can move up
-            nextNodes.add(movedZeroNode(node, oldRow, oldCol, oldRow - 1, oldCol, "down")); // element moves down
-        }
-        if (node.getZeroRow() != node.getBoardSnapshot().length - 1) { // zero can move down
-            nextNodes.add(movedZeroNode(node, oldRow, oldCol, oldRow + 1, oldCol, "up")); // element moves up
-        }
-        if (node.getZeroCol() != 0) { // zero can move left
-            nextNodes.add(movedZeroNode(node, oldRow, oldCol, oldRow, oldCol - 1, "right")); // element moves right
-        }
-        if (node.getZeroCol() != node.getBoardSnapshot().length - 1) { // zero can move right
-            nextNodes.add(movedZeroNode(node, oldRow, oldCol, oldRow, oldCol + 1, "left")); // element moves left
-        }
-
-        return nextNodes;
-    }
-
-    /**
-     * Method for generating a node after zero position is moved
-     *
-     * @param node      node representing the current state
-     * @param oldRow    zero row coordinate in the current state
-     * @param oldCol    zero column coordinate in the current state
-     * @param newRow    zero row coordinate in the new node/state
-     * @param newCol    zero column coordinate in the new node/state
-     * @param direction string representing which direction the zero is moving to
-     * @return new child node of the current node with moved zero position
-     */
-    private static Node movedZeroNode(final Node node, final int oldRow, final int oldCol, final int newRow,
-                                      final int newCol, final String direction) {
-        final int[][] boardAfterMove = generateBoardCopy(node.getBoardSnapshot());
-        swapZero(boardAfterMove, oldRow, oldCol, newRow, newCol);
-        final int h = heuristic(boardAfterMove, rowCoordinates, colCoordinates);
-        return new Node(boardAfterMove, newRow, newCol, h, node, direction);
-    }
-
-    /**
-     * Method for generating a new instance of a board
-     *
-     * @param board matrix board to be cloned
-     * @return board matrix, new instance
-     */
-    private static int[][] generateBoardCopy(final int[][] board) {
-        return Arrays.stream(board).map(int[]::clone).toArray(int[][]::new);
-    }
-
-    /**
-     * Method for swapping the zero position in a board
-     *
-     * @param board  matrix of the current state
-     * @param oldRow zero row coordinate in the current state
-     * @param oldCol zero column coordinate in the current state
-     * @param newRow zero row coordinate in the new node/state
-     * @param newCol zero column coordinate in the new node/state
-     */
-    private static void swapZero(final int[][] board, final int oldRow, final int oldCol, final int newRow, final int newCol) {
-        final int temp = board[oldRow][oldCol];
-        board[oldRow][oldCol] = board[newRow][newCol];
-        board[newRow][newCol] = temp;
-    }
 }
@@ -1,17 +1,79 @@
 package ida;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
+import java.util.function.Function;
 
 /**
- * Entry point of the algorithm
+ * Entry point of the algorithm. Passing "--heuristic=pdb" uses the default additive pattern databases for the board
+ * size and "--heuristic=pdb-7-8" uses the 7-8 partition of the 15 puzzle. Database files are kept in the directory
+ * given by "--pdb-dir=DIR". Board sizes without pattern databases fall back to the Manhattan distance.
+ * "--heuristic=linear-conflict" and "--heuristic=walking-distance" select the cheaper heuristics which need no
+ * databases. Passing "--transposition-table=BITS" prunes boards reached twice in an iteration using a table of 2^BITS
+ * entries. Passing "--parallel=P" searches on P threads, without a transposition table. Passing "--batch=FILE" solves
+ * every puzzle of the file on "--threads=T" threads and streams one line per puzzle to "--output=FILE" or to the
+ * standard output. "--engine=ida-star|bidirectional" selects the search engine; by default boards up to 3x3 are solved
+ * with the bidirectional breadth-first search and larger ones with IDA*, unless a heuristic, a transposition table or
+ * parallel search is requested, which only IDA* uses.
+ * Passing "--stats" prints the search statistics of every IDA* iteration, or of every layer of the bidirectional
+ * search, as JSON after the solution.
  */
 public final class IterativeDeepeningAStar {
 
-    private static int zeroRow = 0;
-    private static int zeroCol = 0;
-
     public static void main(String[] args) {
         final Scanner scanner = new Scanner(System.in);
+        String heuristicName = "manhattan";
+        boolean idaStarOptions = false;
+        Path patternDatabaseDirectory = Paths.get("pdb");
+        int transpositionTableBits = 0;
+        int parallelism = 1;
+        Path batchInput = null;
+        Path batchOutput = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String engineName = "auto";
+        boolean printStatistics = false;
+
+        for (final String arg : args) {
+            if (arg.startsWith("--heuristic=")) {
+                heuristicName = arg.substring("--heuristic=".length());
+                idaStarOptions = true;
+            } else if (arg.startsWith("--pdb-dir=")) {
+                patternDatabaseDirectory = Paths.get(arg.substring("--pdb-dir=".length()));
+            } else if (arg.startsWith("--transposition-table=")) {
+                transpositionTableBits = Integer.parseInt(arg.substring("--transposition-table=".length()));
+                idaStarOptions |= transpositionTableBits > 0;
+            } else if (arg.startsWith("--parallel=")) {
+                parallelism = Integer.parseInt(arg.substring("--parallel=".length()));
+                idaStarOptions |= parallelism > 1;
+            } else if (arg.startsWith("--batch=")) {
+                batchInput = Paths.get(arg.substring("--batch=".length()));
+            } else if (arg.startsWith("--output=")) {
+                batchOutput = Paths.get(arg.substring("--output=".length()));
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--engine=")) {
+                engineName = arg.substring("--engine=".length());
+            } else if (arg.equals("--stats")) {
+                printStatistics = true;
+            }
+        }
+
+        if (batchInput != null) {
+            final String heuristic = heuristicName, engine = engineName;
+            final Path directory = patternDatabaseDirectory;
+            final int bits = transpositionTableBits;
+            final boolean idaStar = idaStarOptions;
+            runBatch(batchInput, batchOutput, threads, layout -> new IDASolver(layout, createHeuristic(heuristic, layout, directory),
+                    bits, 1, selectEngine(engine, layout.getBoardSize(), idaStar)));
+            return;
+        }
 
         final int numberOfElements = scanner.nextInt();
         int zeroIndex = scanner.nextInt();
@@ -22,26 +84,97 @@ public final class IterativeDeepeningAStar {
         final int[][] rootBoard = new int[boardSize][boardSize];
         initBoard(rootBoard, boardSize, scanner);
 
-        final int[] rowCoordinates = IDAUtil.generateRowCoordinates(boardSize, numberOfElements);
-        final int[] colCoordinates = IDAUtil.generateColCoordinates(boardSize, numberOfElements);
-        IDAUtil.fixCoordinates(rowCoordinates, colCoordinates, zeroIndex, boardSize);
+        final GoalLayout layout = GoalLayout.of(boardSize, zeroIndex);
+        final Heuristic heuristic = createHeuristic(heuristicName, layout, patternDatabaseDirectory);
+        final IDASolver solver = new IDASolver(layout, heuristic, transpositionTableBits, parallelism, selectEngine(engineName, boardSize, idaStarOptions));
 
-        final int rootHeuristic = IDAUtil.heuristic(rootBoard, rowCoordinates, colCoordinates);
+        final Solution solution = solver.solve(rootBoard);
+        IDAUtil.printSolution(rootBoard, solution);
+        if (printStatistics) {
+            System.out.println(solution.getStatistics().toJson());
+        }
+    }
 
-        final int[][] goalBoard = IDAUtil.generateGoalBoard(boardSize, rowCoordinates, colCoordinates);
+    /**
+     * Method for solving a file of puzzles and reporting how long it took
+     *
+     * @param input         puzzle file
+     * @param output        result file or null for the standard output
+     * @param threads       number of worker threads
+     * @param solverFactory factory creating the solver for a goal layout
+     */
+    private static void runBatch(final Path input, final Path output, final int threads, final Function<GoalLayout, IDASolver> solverFactory) {
+        final BatchSolver batchSolver = new BatchSolver(solverFactory, threads);
+        final long start = System.currentTimeMillis();
+        try (final Writer writer = output != null
+                ? Files.newBufferedWriter(output, StandardCharsets.UTF_8)
+                : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))) {
+            final long count = batchSolver.run(input, writer);
+            System.err.println("Solved " + count + " puzzles in " + (System.currentTimeMillis() - start) / 1000.0 + "s.");
+        } catch (final IOException e) {
+            System.err.println("Error while solving the batch: " + e.getMessage());
+        }
+    }
 
-        // Check if board is solvable. If it's solvable, run IDA*.
-        if (IDAUtil.isSolvable(rootBoard)) {
-            IDAUtil.runIDAStar(rootBoard, zeroRow, zeroCol, rootHeuristic, goalBoard, zeroIndex);
-        } else {
-            System.out.println("BOARD IS NOT SOLVABLE");
+    /**
+     * Method for selecting the search engine by name. Options only IDA* uses make "auto" pick IDA* and are reported
+     * as ignored by the bidirectional search.
+     *
+     * @param name           name of the engine, "auto" picks it by board size
+     * @param boardSize      size of the board
+     * @param idaStarOptions flag determining if a heuristic, a transposition table or parallel search was requested
+     * @return selected search engine
+     */
+    private static SearchEngine selectEngine(final String name, final int boardSize, final boolean idaStarOptions) {
+        switch (name) {
+            case "ida-star":
+                return SearchEngine.IDA_STAR;
+            case "bidirectional":
+                if (idaStarOptions) {
+                    System.err.println("The bidirectional search ignores --heuristic, --transposition-table and --parallel");
+                }
+                return SearchEngine.BIDIRECTIONAL;
+            default:
+                return idaStarOptions ? SearchEngine.IDA_STAR : SearchEngine.forBoardSize(boardSize);
         }
+    }
 
+    /**
+     * Method for creating the heuristic selected by name. Pattern databases which do not exist for the board size
+     * fall back to the Manhattan distance with a notice.
+     *
+     * @param name                     name of the heuristic
+     * @param layout                   goal layout of the board
+     * @param patternDatabaseDirectory directory the pattern database files are kept in
+     * @return heuristic estimating the cost to travel to the goal, Manhattan distance for unknown names
+     */
+    private static Heuristic createHeuristic(final String name, final GoalLayout layout, final Path patternDatabaseDirectory) {
+        final int boardSize = layout.getBoardSize(), zeroIndex = layout.getZeroIndex();
+        final int[] rowCoordinates = layout.rowCoordinates(), colCoordinates = layout.colCoordinates();
+        switch (name) {
+            case "pdb":
+            case "pdb-7-8":
+                try {
+                    final int[][] partition = name.equals("pdb")
+                            ? PatternDatabaseHeuristic.defaultPartition(boardSize)
+                            : PatternDatabaseHeuristic.FIFTEEN_PUZZLE_7_8;
+                    return new PatternDatabaseHeuristic(partition, boardSize, rowCoordinates, colCoordinates, zeroIndex,
+                            patternDatabaseDirectory);
+                } catch (final IllegalArgumentException e) {
+                    System.err.println(e.getMessage() + ", using the Manhattan distance instead");
+                    return new ManhattanHeuristic(rowCoordinates, colCoordinates);
+                }
+            case "linear-conflict":
+                return new LinearConflictHeuristic(boardSize, rowCoordinates, colCoordinates);
+            case "walking-distance":
+                return new WalkingDistanceHeuristic(boardSize, rowCoordinates, colCoordinates, zeroIndex);
+            default:
+                return new ManhattanHeuristic(rowCoordinates, colCoordinates);
+        }
     }
 
     /**
-     * Method for initializing the root board matrix from user input. Also keeps track of zero/blank tile coordinates
-     * and saves them in variables.
+     * Method for initializing the root board matrix from user input
      *
      * @param board     reference of non-initialized board yet
      * @param boardSize size of the board
@@ -51,10 +184,6 @@ public final class IterativeDeepeningAStar {
         for (int i = 0; i < boardSize; i++) {
             for (int j = 0; j < boardSize; j++) {
                 board[i][j] = scanner.nextInt();
-                if (board[i][j] == 0) {
-                    zeroRow = i;
-                    zeroCol = j;
-                }
             }
         }
     }
@@ -0,0 +1,147 @@
+package ida;
+
+/**
+ * Heuristic adding linear conflicts to the Manhattan distance. Tiles in their goal row (or column) which are in the
+ * wrong order relative to each other have to leave the line, so for every line two moves are added per tile which
+ * must be removed to leave the rest in order. The number of removals of every possible line is precomputed.
+ */
+public final class LinearConflictHeuristic implements Heuristic {
+    private static final int MAX_TABLE_SIZE = 1 << 24;
+
+    private final ManhattanHeuristic manhattan;
+    private final int[] rowCoordinates;
+    private final int[] colCoordinates;
+    private final int boardSize;
+    private final int[] powers;
+    private final byte[] removals;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param boardSize      size of the board
+     * @param rowCoordinates array containing row coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     * @param colCoordinates array containing col coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     */
+    public LinearConflictHeuristic(final int boardSize, final int[] rowCoordinates, final int[] colCoordinates) {
+        this.manhattan = new ManhattanHeuristic(rowCoordinates, colCoordinates);
+        this.rowCoordinates = rowCoordinates;
+        this.colCoordinates = colCoordinates;
+        this.boardSize = boardSize;
+        this.powers = new int[boardSize + 1];
+        powers[0] = 1;
+        for (int i = 1; i <= boardSize; i++) {
+            if ((long) powers[i - 1] * (boardSize + 1) > MAX_TABLE_SIZE) {
+                throw new IllegalArgumentException("Linear conflicts are not supported on " + boardSize + "x" + boardSize + " boards");
+            }
+            powers[i] = powers[i - 1] * (boardSize + 1);
+        }
+        this.removals = generateRemovals(boardSize, powers[boardSize]);
+    }
+
+    @Override
+    public int evaluate(final Board board) {
+        int h = manhattan.evaluate(board);
+        for (int line = 0; line < boardSize; line++) {
+            h += 2 * removals[lineCode(board, line, true, 0, -1, -1)];
+            h += 2 * removals[lineCode(board, line, false, 0, -1, -1)];
+        }
+        return h;
+    }
+
+    /**
+     * Method for updating the heuristic estimate after a single tile moved. Only the two lines the tile left and
+     * entered across its move can change their conflicts.
+     *
+     * @param board     packed board after the move
+     * @param h         heuristic estimate of the board before the move
+     * @param tile      tile which was moved
+     * @param fromIndex row-major index the tile was moved from
+     * @param toIndex   row-major index the tile was moved to
+     * @return heuristic estimate of the board after the move
+     */
+    @Override
+    public int update(final Board board, final int h, final int tile, final int fromIndex, final int toIndex) {
+        int updated = manhattan.update(board, h, tile, fromIndex, toIndex);
+        // a horizontal move changes the tile's column, a vertical move its row
+        final boolean rows = fromIndex / boardSize != toIndex / boardSize;
+        final int fromLine = rows ? fromIndex / boardSize : fromIndex % boardSize;
+        final int toLine = rows ? toIndex / boardSize : toIndex % boardSize;
+
+        updated += 2 * (removals[lineCode(board, fromLine, rows, 0, -1, -1)]
+                - removals[lineCode(board, fromLine, rows, tile, fromIndex, toIndex)]);
+        updated += 2 * (removals[lineCode(board, toLine, rows, 0, -1, -1)]
+                - removals[lineCode(board, toLine, rows, tile, fromIndex, toIndex)]);
+        return updated;
+    }
+
+    /**
+     * Method for encoding the tiles of a line which belong to it in the goal position. Every cell is a digit, 0 for
+     * a cell without such a tile and 1 plus the tile's goal position in the line otherwise.
+     *
+     * @param board     packed board
+     * @param line      index of the row or column
+     * @param row       flag determining if the line is a row
+     * @param tile      tile which was moved, used for encoding the board before the move
+     * @param fromIndex row-major index the tile was moved from, -1 for encoding the current board
+     * @param toIndex   row-major index the tile was moved to, -1 for encoding the current board
+     * @return code of the line
+     */
+    private int lineCode(final Board board, final int line, final boolean row, final int tile, final int fromIndex, final int toIndex) {
+        int code = 0;
+        for (int i = 0; i < boardSize; i++) {
+            final int index = row ? line * boardSize + i : i * boardSize + line;
+            int current = board.getTile(index);
+            if (index == fromIndex) {
+                current = tile;
+            } else if (index == toIndex) {
+                current = 0;
+            }
+
+            if (current != 0) {
+                final int goalLine = row ? rowCoordinates[current - 1] : colCoordinates[current - 1];
+                if (goalLine == line) {
+                    code += (1 + (row ? colCoordinates[current - 1] : rowCoordinates[current - 1])) * powers[i];
+                }
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Method for precomputing the number of tiles which have to leave a line, for every line code. It is the number
+     * of tiles in the line minus the longest increasing run of their goal positions.
+     *
+     * @param boardSize size of the board
+     * @param codes     number of line codes
+     * @return array of removals indexed by line code
+     */
+    private static byte[] generateRemovals(final int boardSize, final int codes) {
+        final byte[] removals = new byte[codes];
+        final int[] goals = new int[boardSize];
+        final int[] longest = new int[boardSize];
+
+        for (int code = 0; code < codes; code++) {
+            int count = 0;
+            for (int i = 0, rest = code; i < boardSize; i++, rest /= boardSize + 1) {
+                if (rest % (boardSize + 1) != 0) {
+                    goals[count++] = rest % (boardSize + 1) - 1;
+                }
+            }
+
+            int longestIncreasing = 0;
+            for (int i = 0; i < count; i++) {
+                longest[i] = 1;
+                for (int j = 0; j < i; j++) {
+                    if (goals[j] < goals[i] && longest[j] + 1 > longest[i]) {
+                        longest[i] = longest[j] + 1;
+                    }
+                }
+                longestIncreasing = Math.max(longestIncreasing, longest[i]);
+            }
+            removals[code] = (byte) (count - longestIncreasing);
+        }
+        return removals;
+    }
+}
@@ -0,0 +1,120 @@
+package ida;
+
+/**
+ * Open addressing hash map from packed boards to the move which reached them. Keys are primitive longs, so a board
+ * costs nine bytes plus the free slots instead of a boxed key and an entry object. Packed boards are never zero,
+ * because at least one tile is non-zero, so zero marks free slots.
+ */
+final class LongStateMap {
+    static final byte ABSENT = -1;
+
+    private static final int INITIAL_BITS = 10;
+
+    private long[] keys;
+    private byte[] values;
+    private int bits;
+    private int size;
+
+    /**
+     * Default constructor
+     */
+    LongStateMap() {
+        this.bits = INITIAL_BITS;
+        this.keys = new long[1 << bits];
+        this.values = new byte[1 << bits];
+        this.size = 0;
+    }
+
+    /**
+     * Method for adding a board if it is not in the map yet
+     *
+     * @param key   packed board, must not be zero
+     * @param value value stored for the board
+     * @return true if the board was added, false if it was already in the map
+     */
+    boolean putIfAbsent(final long key, final byte value) {
+        final int mask = keys.length - 1;
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Method for getting the value stored for a board
+     *
+     * @param key packed board
+     * @return stored value or ABSENT if the board is not in the map
+     */
+    byte get(final long key) {
+        final int mask = keys.length - 1;
+        int slot = slot(key);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    /**
+     * Method for checking if a board is in the map
+     *
+     * @param key packed board
+     * @return true if the board is in the map
+     */
+    boolean contains(final long key) {
+        return get(key) != ABSENT;
+    }
+
+    /**
+     * Getter for size
+     *
+     * @return size - number of boards in the map
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Method for getting the first slot probed for a key using Fibonacci hashing
+     *
+     * @param key packed board
+     * @return first slot of the key
+     */
+    private int slot(final long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (64 - bits));
+    }
+
+    /**
+     * Method for doubling the capacity and reinserting all boards
+     */
+    private void grow() {
+        final long[] oldKeys = keys;
+        final byte[] oldValues = values;
+        bits++;
+        keys = new long[1 << bits];
+        values = new byte[1 << bits];
+        final int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package ida;
+
+/**
+ * Heuristic summing the Manhattan distances of all tiles to their goal positions
+ */
+public final class ManhattanHeuristic implements Heuristic {
+    private final int[] rowCoordinates;
+    private final int[] colCoordinates;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param rowCoordinates array containing row coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     * @param colCoordinates array containing col coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     */
+    public ManhattanHeuristic(final int[] rowCoordinates, final int[] colCoordinates) {
+        this.rowCoordinates = rowCoordinates;
+        this.colCoordinates = colCoordinates;
+    }
+
+    @Override
+    public int evaluate(final Board board) {
+        return IDAUtil.heuristic(board, rowCoordinates, colCoordinates);
+    }
+
+    /**
+     * Method for updating the heuristic estimate after a single tile moved. Only the moved tile's distance changes,
+     * so the new estimate is computed in constant time.
+     *
+     * @param board     packed board after the move
+     * @param h         heuristic estimate of the board before the move
+     * @param tile      tile which was moved
+     * @param fromIndex row-major index the tile was moved from
+     * @param toIndex   row-major index the tile was moved to
+     * @return heuristic estimate of the board after the move
+     */
+    @Override
+    public int update(final Board board, final int h, final int tile, final int fromIndex, final int toIndex) {
+        return h + distance(tile, toIndex, board.getSize()) - distance(tile, fromIndex, board.getSize());
+    }
+
+    /**
+     * Method for calculating the Manhattan distance of a tile to its goal position
+     *
+     * @param tile      tile to be evaluated
+     * @param index     row-major index of the tile's position
+     * @param boardSize size of the board
+     * @return Manhattan distance of the tile to its goal position
+     */
+    int distance(final int tile, final int index, final int boardSize) {
+        return Math.abs(index / boardSize - rowCoordinates[tile - 1]) + Math.abs(index % boardSize - colCoordinates[tile - 1]);
+    }
+}
@@ -0,0 +1,91 @@
+package ida;
+
+/**
+ * Enum representing the moves of a tile into the blank. The blank moves in the opposite direction of the tile.
+ */
+public enum Move {
+    DOWN("down", -1, 0), UP("up", 1, 0), RIGHT("right", 0, -1), LEFT("left", 0, 1);
+
+    private static final Move[] VALUES = values();
+
+    private final String direction;
+    private final int blankRowDelta;
+    private final int blankColDelta;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param direction     string representing which direction the tile is moving to
+     * @param blankRowDelta change of the zero/blank tile row coordinate
+     * @param blankColDelta change of the zero/blank tile col coordinate
+     */
+    Move(final String direction, final int blankRowDelta, final int blankColDelta) {
+        this.direction = direction;
+        this.blankRowDelta = blankRowDelta;
+        this.blankColDelta = blankColDelta;
+    }
+
+    /**
+     * Method for getting a move by its ordinal without allocating the values array
+     *
+     * @param ordinal ordinal of the move
+     * @return move with the given ordinal
+     */
+    public static Move valueOf(final int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Method for getting all moves without allocating a new array
+     *
+     * @return shared array of all moves, must not be modified
+     */
+    static Move[] all() {
+        return VALUES;
+    }
+
+    /**
+     * Getter for direction
+     *
+     * @return direction - string representing which direction the tile is moving to
+     */
+    public String getDirection() {
+        return direction;
+    }
+
+    /**
+     * Getter for blankRowDelta
+     *
+     * @return blankRowDelta - change of the zero/blank tile row coordinate
+     */
+    public int getBlankRowDelta() {
+        return blankRowDelta;
+    }
+
+    /**
+     * Getter for blankColDelta
+     *
+     * @return blankColDelta - change of the zero/blank tile col coordinate
+     */
+    public int getBlankColDelta() {
+        return blankColDelta;
+    }
+
+    /**
+     * Method for getting the move which undoes this move
+     *
+     * @return inverse move
+     */
+    public Move inverse() {
+        switch (this) {
+            case DOWN:
+                return UP;
+            case UP:
+                return DOWN;
+            case RIGHT:
+                return LEFT;
+            default:
+                return RIGHT;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ida;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Array of 4-bit values backed by a memory-mapped file. Files larger than a single mapping are split into chunks,
+ * so the array can be indexed with long indices.
+ */
+final class NibbleArray {
+    private static final int CHUNK_SHIFT = 30;
+    private static final int CHUNK_BYTES = 1 << CHUNK_SHIFT;
+
+    private final MappedByteBuffer[] chunks;
+    private final long length;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param chunks mapped chunks of the backing file
+     * @param length number of values in the array
+     */
+    private NibbleArray(final MappedByteBuffer[] chunks, final long length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    /**
+     * Method for mapping a file as an array of 4-bit values. A writable file is created or extended if needed and
+     * new values are zero.
+     *
+     * @param file     backing file
+     * @param length   number of values in the array
+     * @param writable flag determining if the array can be modified
+     * @return array backed by the file
+     * @throws IOException if the file cannot be mapped or a read-only file does not have the expected size
+     */
+    static NibbleArray map(final Path file, final long length, final boolean writable) throws IOException {
+        final long bytes = byteLength(length);
+        final FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+
+        try (final FileChannel channel = writable
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ)) {
+            if (!writable && channel.size() != bytes) {
+                throw new IOException("Expected " + bytes + " bytes in " + file + " but found " + channel.size());
+            }
+
+            final MappedByteBuffer[] chunks = new MappedByteBuffer[(int) ((bytes + CHUNK_BYTES - 1) / CHUNK_BYTES)];
+            for (int i = 0; i < chunks.length; i++) {
+                final long position = (long) i * CHUNK_BYTES;
+                chunks[i] = channel.map(mode, position, Math.min(CHUNK_BYTES, bytes - position));
+            }
+            return new NibbleArray(chunks, length);
+        }
+    }
+
+    /**
+     * Method for calculating the size of the backing file
+     *
+     * @param length number of values in the array
+     * @return number of bytes needed to store the values
+     */
+    static long byteLength(final long length) {
+        return (length + 1) / 2;
+    }
+
+    /**
+     * Getter for length
+     *
+     * @return length - number of values in the array
+     */
+    long length() {
+        return length;
+    }
+
+    /**
+     * Method for reading a value
+     *
+     * @param index index of the value
+     * @return value between 0 and 15
+     */
+    int get(final long index) {
+        final long byteIndex = index >>> 1;
+        final int b = chunks[(int) (byteIndex >>> CHUNK_SHIFT)].get((int) (byteIndex & (CHUNK_BYTES - 1)));
+        return (index & 1) == 0 ? b & 0xF : (b >>> 4) & 0xF;
+    }
+
+    /**
+     * Method for writing a value
+     *
+     * @param index index of the value
+     * @param value value between 0 and 15
+     */
+    void set(final long index, final int value) {
+        final long byteIndex = index >>> 1;
+        final MappedByteBuffer chunk = chunks[(int) (byteIndex >>> CHUNK_SHIFT)];
+        final int offset = (int) (byteIndex & (CHUNK_BYTES - 1));
+        final int b = chunk.get(offset);
+        chunk.put(offset, (byte) ((index & 1) == 0 ? (b & 0xF0) | value : (b & 0x0F) | (value << 4)));
+    }
+
+    /**
+     * Method for writing all modified values to the backing file
+     */
+    void force() {
+        for (final MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+    }
+}
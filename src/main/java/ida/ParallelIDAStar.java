@@ -0,0 +1,323 @@
+package ida;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Utility class running IDA* on several threads. The start position is expanded breadth-first into a frontier of a
+ * few thousand boards, and every iteration searches the subtrees below the frontier on a ForkJoinPool, which steals
+ * work between threads when subtrees differ in size. The first subtree reaching the goal cancels the others. Every
+ * solution found in an iteration costs exactly the iteration's threshold, so the returned path is optimal.
+ */
+public final class ParallelIDAStar {
+    /**
+     * Number of frontier boards the start position is expanded to by default
+     */
+    public static final int DEFAULT_FRONTIER_SIZE = 4096;
+
+    /**
+     * Private default constructor to prevent instantiating the class
+     */
+    private ParallelIDAStar() {
+        // Utility class
+    }
+
+    /**
+     * Method for solving a board with the default frontier size
+     *
+     * @param root        board representing the starting position
+     * @param goal        board representing the goal position
+     * @param heuristic   heuristic estimating the cost to travel to the goal, shared by all threads
+     * @param parallelism number of threads searching subtrees
+     * @return moves from the start to the goal position or null if no solution was found
+     */
+    public static PathStack solve(final Board root, final Board goal, final Heuristic heuristic, final int parallelism) {
+        return solve(root, goal, heuristic, parallelism, DEFAULT_FRONTIER_SIZE);
+    }
+
+    /**
+     * Method for solving a board
+     *
+     * @param root         board representing the starting position
+     * @param goal         board representing the goal position
+     * @param heuristic    heuristic estimating the cost to travel to the goal, shared by all threads
+     * @param parallelism  number of threads searching subtrees
+     * @param frontierSize minimum number of frontier boards
+     * @return moves from the start to the goal position or null if no solution was found
+     */
+    public static PathStack solve(final Board root, final Board goal, final Heuristic heuristic, final int parallelism, final int frontierSize) {
+        return solve(root, goal, heuristic, parallelism, frontierSize, new SearchStatistics());
+    }
+
+    /**
+     * Method for solving a board and recording the statistics of every iteration. The work of expanding the
+     * frontier is counted in the first iteration. Boards whose frontier stops growing before reaching the requested
+     * size, like the 2x2 board, are searched sequentially from the root.
+     *
+     * @param root         board representing the starting position
+     * @param goal         board representing the goal position
+     * @param heuristic    heuristic estimating the cost to travel to the goal, shared by all threads
+     * @param parallelism  number of threads searching subtrees
+     * @param frontierSize minimum number of frontier boards
+     * @param statistics   statistics receiving the iterations
+     * @return moves from the start to the goal position or null if no solution was found
+     */
+    static PathStack solve(final Board root, final Board goal, final Heuristic heuristic, final int parallelism, final int frontierSize,
+                           final SearchStatistics statistics) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+
+        final long frontierStart = System.nanoTime();
+        final SearchCounters counters = new SearchCounters();
+        final int rootHeuristic = heuristic.evaluate(root);
+        counters.countHeuristicEvaluation();
+        if (rootHeuristic == 0 && root.equals(goal)) {
+            statistics.addIteration(rootHeuristic, counters, System.nanoTime() - frontierStart);
+            return new PathStack(0);
+        }
+
+        // Breadth-first expansion, so a goal found on the way is reached by a shortest path
+        final FrontierNode rootNode = new FrontierNode(new byte[0], new int[]{rootHeuristic}, rootHeuristic);
+        List<FrontierNode> frontier = new ArrayList<>();
+        frontier.add(rootNode);
+        while (frontier.size() < frontierSize) {
+            final List<FrontierNode> next = new ArrayList<>(frontier.size() * 3);
+            for (final FrontierNode node : frontier) {
+                final PathStack path = expand(node, root, goal, heuristic, next, counters);
+                if (path != null) {
+                    statistics.addIteration(rootHeuristic, counters, System.nanoTime() - frontierStart);
+                    return path;
+                }
+            }
+            if (next.size() <= frontier.size()) {
+                // The board is too small to spread over the threads, so the root is searched as a single subtree
+                frontier = List.of(rootNode);
+                break;
+            }
+            frontier = next;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            int threshold = rootHeuristic;
+            long start = frontierStart;
+            while (true) {
+                final AtomicBoolean cancelled = new AtomicBoolean();
+                final AtomicReference<PathStack> solution = new AtomicReference<>();
+                final int temp = pool.invoke(new SubtreeTask(frontier, 0, frontier.size(), root, goal, heuristic, threshold, cancelled,
+                        solution, counters));
+                final long stop = System.nanoTime();
+                statistics.addIteration(threshold, counters, stop - start);
+                counters.clear();
+                start = stop;
+
+                if (temp == IDASearch.FOUND) {
+                    return solution.get();
+                }
+                if (temp >= IDAUtil.ESTIMATED_MAXIMUM_POSSIBLE_F_VALUE) {
+                    return null;
+                }
+                threshold = temp;
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Method for adding the children of a frontier node to the next frontier. The move undoing the node's last move
+     * is skipped.
+     *
+     * @param node      frontier node to be expanded
+     * @param root      board representing the starting position
+     * @param goal      board representing the goal position
+     * @param heuristic heuristic estimating the cost to travel to the goal
+     * @param next      list receiving the children
+     * @param counters  counters receiving the work done
+     * @return moves to a child which is the goal or null if no child is
+     */
+    private static PathStack expand(final FrontierNode node, final Board root, final Board goal, final Heuristic heuristic,
+                                    final List<FrontierNode> next, final SearchCounters counters) {
+        final Board board = new Board(root);
+        final PathStack path = node.replay(board);
+        final Heuristic nodeHeuristic = heuristic.forSearch(board);
+        final Move parentMove = path.peek();
+        counters.countExpanded();
+
+        for (final Move move : Move.all()) {
+            if (!board.canMove(move) || (parentMove != null && move == parentMove.inverse())) {
+                continue;
+            }
+            final int oldZeroIndex = board.getZeroIndex();
+            final int tile = board.move(move);
+            final int h = nodeHeuristic.update(board, node.h, tile, board.getZeroIndex(), oldZeroIndex);
+            path.push(move);
+            counters.countGenerated(path.size());
+
+            if (h == 0 && board.equals(goal)) {
+                return path;
+            }
+            next.add(node.child(move, h));
+
+            path.pop();
+            board.undo(move);
+            nodeHeuristic.revert();
+        }
+        return null;
+    }
+
+    /**
+     * Board below the start position, stored as the moves leading to it
+     */
+    private static final class FrontierNode {
+        private final byte[] moves;
+        private final int[] prefixF;
+        private final int h;
+
+        /**
+         * Constructor with parameters
+         *
+         * @param moves   ordinals of the moves from the start position
+         * @param prefixF costs plus heuristic estimates of all boards from the start position to this one
+         * @param h       heuristic estimate of the cost to travel to the goal from this board
+         */
+        private FrontierNode(final byte[] moves, final int[] prefixF, final int h) {
+            this.moves = moves;
+            this.prefixF = prefixF;
+            this.h = h;
+        }
+
+        /**
+         * Method for creating a child node
+         *
+         * @param move move leading to the child
+         * @param h    heuristic estimate of the child
+         * @return child node
+         */
+        private FrontierNode child(final Move move, final int h) {
+            final byte[] childMoves = Arrays.copyOf(moves, moves.length + 1);
+            childMoves[moves.length] = (byte) move.ordinal();
+            final int[] childPrefixF = Arrays.copyOf(prefixF, prefixF.length + 1);
+            childPrefixF[prefixF.length] = childMoves.length + h;
+            return new FrontierNode(childMoves, childPrefixF, h);
+        }
+
+        /**
+         * Method for applying the node's moves to a copy of the start position. The path is sized for the whole
+         * search below the node, the first prefix value being the start position's heuristic estimate.
+         *
+         * @param board copy of the start position, modified in place
+         * @return path holding the node's moves
+         */
+        private PathStack replay(final Board board) {
+            final PathStack path = new PathStack(IDAUtil.pathCapacity(prefixF[0]));
+            for (final byte move : moves) {
+                board.move(Move.valueOf(move));
+                path.push(Move.valueOf(move));
+            }
+            return path;
+        }
+
+        /**
+         * Method for getting the first cost plus heuristic estimate above a threshold on the way to this node, which
+         * is where a sequential search would have stopped
+         *
+         * @param threshold threshold for the current run of the algorithm
+         * @return first value above the threshold or -1 if the whole way is within it
+         */
+        private int prunedF(final int threshold) {
+            for (final int f : prefixF) {
+                if (f > threshold) {
+                    return f;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Task searching a range of frontier subtrees, split in halves until a single subtree is left
+     */
+    private static final class SubtreeTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<FrontierNode> frontier;
+        private final int from;
+        private final int to;
+        private final Board root;
+        private final Board goal;
+        private final Heuristic heuristic;
+        private final int threshold;
+        private final AtomicBoolean cancelled;
+        private final AtomicReference<PathStack> solution;
+        private final SearchCounters counters;
+
+        /**
+         * Constructor with parameters
+         *
+         * @param frontier  frontier nodes
+         * @param from      first frontier index of the range, inclusive
+         * @param to        last frontier index of the range, exclusive
+         * @param root      board representing the starting position
+         * @param goal      board representing the goal position
+         * @param heuristic heuristic estimating the cost to travel to the goal
+         * @param threshold threshold for the current run of the algorithm
+         * @param cancelled flag set when a solution is found
+         * @param solution  reference receiving the moves of the first solution
+         * @param counters  counters of the iteration, every subtree adds its own counts once it is searched
+         */
+        private SubtreeTask(final List<FrontierNode> frontier, final int from, final int to, final Board root, final Board goal,
+                            final Heuristic heuristic, final int threshold, final AtomicBoolean cancelled,
+                            final AtomicReference<PathStack> solution, final SearchCounters counters) {
+            this.frontier = frontier;
+            this.from = from;
+            this.to = to;
+            this.root = root;
+            this.goal = goal;
+            this.heuristic = heuristic;
+            this.threshold = threshold;
+            this.cancelled = cancelled;
+            this.solution = solution;
+            this.counters = counters;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+                final SubtreeTask left = new SubtreeTask(frontier, from, middle, root, goal, heuristic, threshold, cancelled, solution, counters);
+                final SubtreeTask right = new SubtreeTask(frontier, middle, to, root, goal, heuristic, threshold, cancelled, solution, counters);
+                invokeAll(left, right);
+                final int leftResult = left.join(), rightResult = right.join();
+                return leftResult == IDASearch.FOUND || rightResult == IDASearch.FOUND ? IDASearch.FOUND : Math.min(leftResult, rightResult);
+            }
+
+            final FrontierNode node = frontier.get(from);
+            final int prunedF = node.prunedF(threshold);
+            if (prunedF != -1) {
+                return prunedF;
+            }
+            if (cancelled.get()) {
+                return Integer.MAX_VALUE;
+            }
+
+            final Board board = new Board(root);
+            final PathStack path = node.replay(board);
+            final SearchCounters subtreeCounters = new SearchCounters();
+            final int result = new IDASearch(board, path, heuristic.forSearch(board), null, goal, cancelled, subtreeCounters).search(path.size(), node.h, 0, threshold);
+            synchronized (counters) {
+                counters.add(subtreeCounters);
+            }
+            if (result == IDASearch.FOUND && solution.compareAndSet(null, path)) {
+                cancelled.set(true);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ida;
+
+/**
+ * Fixed-size stack of the moves on the current search path, stored as one byte per move
+ */
+public final class PathStack {
+    private final byte[] moves;
+    private int size;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param capacity maximum number of moves on the path
+     */
+    public PathStack(final int capacity) {
+        this.moves = new byte[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Method for pushing a move on top of the path
+     *
+     * @param move move to be pushed
+     */
+    public void push(final Move move) {
+        moves[size++] = (byte) move.ordinal();
+    }
+
+    /**
+     * Method for removing the last move of the path
+     *
+     * @return removed move
+     */
+    public Move pop() {
+        return Move.valueOf(moves[--size]);
+    }
+
+    /**
+     * Method for getting a move on the path
+     *
+     * @param index index of the move, 0 being the first move from the start position
+     * @return move at the given index
+     */
+    public Move get(final int index) {
+        return Move.valueOf(moves[index]);
+    }
+
+    /**
+     * Method for getting the last move of the path
+     *
+     * @return last move or null if the path is empty
+     */
+    public Move peek() {
+        return size == 0 ? null : Move.valueOf(moves[size - 1]);
+    }
+
+    /**
+     * Getter for size
+     *
+     * @return size - number of moves on the path
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for copying the moves of the path
+     *
+     * @return array of moves, the first move from the start position first
+     */
+    public Move[] toArray() {
+        final Move[] array = new Move[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Method for removing all moves from the path
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,369 @@
+package ida;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Disjoint pattern database for a group of tiles. For every placement of the pattern tiles it stores how many moves
+ * of pattern tiles are needed to reach their goal positions on top of the tiles' Manhattan distances. Moves of the
+ * other tiles are free, so databases of disjoint patterns can be added. Values are stored in a memory-mapped nibble
+ * array and capped at MAX_EXCESS, which keeps them admissible.
+ */
+final class PatternDatabase {
+    private static final int MAX_EXCESS = 14;
+    private static final int NOT_VISITED = 0;
+    private static final int CLOSED = 3;
+
+    private final int[] tiles;
+    private final int boardSize;
+    private final int cells;
+    private final int[] goalPositions;
+    private final int goalZeroIndex;
+    private final long[] multipliers;
+    private final long placements;
+    private NibbleArray table;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param tiles          tiles of the pattern
+     * @param boardSize      size of the board
+     * @param rowCoordinates array containing the row coordinates of all tiles in the goal position
+     * @param colCoordinates array containing the column coordinates of all tiles in the goal position
+     * @param goalZeroIndex  index of the zero/blank tile in the goal position board
+     */
+    PatternDatabase(final int[] tiles, final int boardSize, final int[] rowCoordinates, final int[] colCoordinates, final int goalZeroIndex) {
+        this.tiles = tiles.clone();
+        this.boardSize = boardSize;
+        this.cells = boardSize * boardSize;
+        this.goalZeroIndex = goalZeroIndex;
+        this.goalPositions = new int[tiles.length];
+        for (int i = 0; i < tiles.length; i++) {
+            goalPositions[i] = rowCoordinates[tiles[i] - 1] * boardSize + colCoordinates[tiles[i] - 1];
+        }
+
+        // multipliers[i] is the number of placements of the tiles after the i-th one
+        this.multipliers = new long[tiles.length];
+        long count = 1;
+        for (int i = tiles.length - 1; i >= 0; i--) {
+            multipliers[i] = count;
+            count *= cells - i;
+        }
+        this.placements = count;
+    }
+
+    /**
+     * Getter for tiles
+     *
+     * @return tiles - tiles of the pattern
+     */
+    int[] getTiles() {
+        return tiles.clone();
+    }
+
+    /**
+     * Method for mapping the database file from a directory. A missing or damaged file is built first.
+     *
+     * @param directory directory the database files are kept in
+     * @throws IOException if the file cannot be built or mapped
+     */
+    void load(final Path directory) throws IOException {
+        final Path file = directory.resolve(fileName());
+        if (!Files.isRegularFile(file) || Files.size(file) != NibbleArray.byteLength(placements)) {
+            Files.createDirectories(directory);
+            System.err.println("Building pattern database " + file);
+            final Path tableFile = directory.resolve(fileName() + ".tmp");
+            final Path scratchFile = directory.resolve(fileName() + ".bfs");
+            try {
+                Files.deleteIfExists(tableFile);
+                Files.deleteIfExists(scratchFile);
+                build(NibbleArray.map(tableFile, placements, true), NibbleArray.map(scratchFile, placements * cells, true));
+            } finally {
+                Files.deleteIfExists(scratchFile);
+            }
+            Files.move(tableFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        table = NibbleArray.map(file, placements, false);
+    }
+
+    /**
+     * Method for reading the number of moves needed on top of the pattern tiles' Manhattan distances
+     *
+     * @param board         packed board to be evaluated
+     * @param tile          tile whose position is overridden, used for evaluating the board before a move
+     * @param tilePosition  row-major index used as the position of the overridden tile
+     * @return additional moves needed by the pattern tiles
+     */
+    int getExcess(final Board board, final int tile, final int tilePosition) {
+        long index = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            final int position = tiles[i] == tile ? tilePosition : board.getPosition(tiles[i]);
+            int digit = position;
+            for (int j = 0; j < i; j++) {
+                final int earlierPosition = tiles[j] == tile ? tilePosition : board.getPosition(tiles[j]);
+                if (earlierPosition < position) {
+                    digit--;
+                }
+            }
+            index += digit * multipliers[i];
+        }
+        return Math.max(0, table.get(index) - 1);
+    }
+
+    /**
+     * Method for building the database with a breadth-first search from the goal placement. A search state is a
+     * placement of the pattern tiles together with the region of cells the blank can reach for free, represented by
+     * the region's smallest cell. The scratch array marks the states of the current and the next layer with their
+     * depth modulo 2, and a state is marked closed once it has been expanded, so every state is expanded exactly once.
+     * The first time a placement is reached gives its value, stored incremented by one so that zero means not visited.
+     *
+     * @param table   array receiving the database values, indexed by placement
+     * @param scratch array of visited marks, indexed by placement and blank region
+     */
+    private void build(final NibbleArray table, final NibbleArray scratch) {
+        final int[] positions = goalPositions.clone();
+        final int[] tileAt = new int[cells];
+        final int[] stack = new int[cells];
+        final int[] seen = new int[cells];
+        final int[] generation = {0};
+
+        fillTileAt(positions, tileAt);
+        final long goalIndex = rank(positions);
+        scratch.set(goalIndex * cells + region(goalZeroIndex, tileAt, stack, seen, ++generation[0], null), mark(0));
+        table.set(goalIndex, 1);
+
+        final int[] region = new int[cells];
+        for (int depth = 0; ; depth++) {
+            long found = 0;
+            for (long placement = 0; placement < placements; placement++) {
+                boolean unranked = false;
+                for (int blank = 0; blank < cells; blank++) {
+                    if (scratch.get(placement * cells + blank) != mark(depth)) {
+                        continue;
+                    }
+                    scratch.set(placement * cells + blank, CLOSED);
+                    if (!unranked) {
+                        unrank(placement, positions);
+                        fillTileAt(positions, tileAt);
+                        unranked = true;
+                    }
+
+                    final int regionSize = region(blank, tileAt, stack, seen, ++generation[0], region);
+                    for (int r = 0; r < regionSize; r++) {
+                        final int free = region[r];
+                        final int row = free / boardSize, col = free % boardSize;
+                        if (row > 0) found += visit(free, free - boardSize, depth + 1, positions, tileAt, stack, seen, generation, table, scratch);
+                        if (row < boardSize - 1) found += visit(free, free + boardSize, depth + 1, positions, tileAt, stack, seen, generation, table, scratch);
+                        if (col > 0) found += visit(free, free - 1, depth + 1, positions, tileAt, stack, seen, generation, table, scratch);
+                        if (col < boardSize - 1) found += visit(free, free + 1, depth + 1, positions, tileAt, stack, seen, generation, table, scratch);
+                    }
+                }
+            }
+            if (found == 0) {
+                break;
+            }
+        }
+
+        table.force();
+    }
+
+    /**
+     * Method for visiting the state reached by moving a pattern tile into a free cell of the blank's region
+     *
+     * @param free       free cell the tile moves into
+     * @param cell       cell the tile moves from, ignored if it holds no pattern tile
+     * @param depth      depth of the reached state
+     * @param positions  positions of the pattern tiles, restored before returning
+     * @param tileAt     pattern tile index at every cell or -1, restored before returning
+     * @param stack      scratch stack for the flood fill
+     * @param seen       scratch generation marks for the flood fill
+     * @param generation current flood fill generation
+     * @param table      array receiving the database values
+     * @param scratch    array of visited marks
+     * @return 1 if a new state was visited, 0 otherwise
+     */
+    private int visit(final int free, final int cell, final int depth, final int[] positions, final int[] tileAt,
+                      final int[] stack, final int[] seen, final int[] generation, final NibbleArray table, final NibbleArray scratch) {
+        final int tile = tileAt[cell];
+        if (tile < 0) {
+            return 0;
+        }
+
+        positions[tile] = free;
+        tileAt[free] = tile;
+        tileAt[cell] = -1;
+        final long placement = rank(positions);
+        final int blank = region(cell, tileAt, stack, seen, ++generation[0], null);
+        final int manhattan = manhattan(positions);
+        positions[tile] = cell;
+        tileAt[cell] = tile;
+        tileAt[free] = -1;
+
+        final long index = placement * cells + blank;
+        if (scratch.get(index) != NOT_VISITED) {
+            return 0;
+        }
+        scratch.set(index, mark(depth));
+        if (table.get(placement) == NOT_VISITED) {
+            table.set(placement, Math.min(depth - manhattan, MAX_EXCESS) + 1);
+        }
+        return 1;
+    }
+
+    /**
+     * Method for flood filling the region of free cells reachable by the blank
+     *
+     * @param start      cell of the blank
+     * @param tileAt     pattern tile index at every cell or -1
+     * @param stack      scratch stack for the flood fill
+     * @param seen       scratch generation marks for the flood fill
+     * @param generation generation used for marking the cells of this flood fill
+     * @param region     array receiving the cells of the region, or null if only the smallest cell is needed
+     * @return number of cells in the region if region is given, otherwise the smallest cell of the region
+     */
+    private int region(final int start, final int[] tileAt, final int[] stack, final int[] seen, final int generation, final int[] region) {
+        int top = 0, size = 0, smallest = start;
+        stack[top++] = start;
+        seen[start] = generation;
+
+        while (top > 0) {
+            final int cell = stack[--top];
+            if (region != null) {
+                region[size] = cell;
+            }
+            size++;
+            smallest = Math.min(smallest, cell);
+
+            final int row = cell / boardSize, col = cell % boardSize;
+            if (row > 0) top = push(cell - boardSize, tileAt, stack, top, seen, generation);
+            if (row < boardSize - 1) top = push(cell + boardSize, tileAt, stack, top, seen, generation);
+            if (col > 0) top = push(cell - 1, tileAt, stack, top, seen, generation);
+            if (col < boardSize - 1) top = push(cell + 1, tileAt, stack, top, seen, generation);
+        }
+        return region != null ? size : smallest;
+    }
+
+    /**
+     * Method for pushing a free cell on the flood fill stack if it was not seen yet
+     *
+     * @param cell       cell to be pushed
+     * @param tileAt     pattern tile index at every cell or -1
+     * @param stack      scratch stack for the flood fill
+     * @param top        current size of the stack
+     * @param seen       scratch generation marks for the flood fill
+     * @param generation generation of the current flood fill
+     * @return new size of the stack
+     */
+    private static int push(final int cell, final int[] tileAt, final int[] stack, final int top, final int[] seen, final int generation) {
+        if (tileAt[cell] >= 0 || seen[cell] == generation) {
+            return top;
+        }
+        seen[cell] = generation;
+        stack[top] = cell;
+        return top + 1;
+    }
+
+    /**
+     * Method for calculating the index of a placement of the pattern tiles
+     *
+     * @param positions cells of the pattern tiles
+     * @return index of the placement
+     */
+    private long rank(final int[] positions) {
+        long index = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int digit = positions[i];
+            for (int j = 0; j < i; j++) {
+                if (positions[j] < positions[i]) {
+                    digit--;
+                }
+            }
+            index += digit * multipliers[i];
+        }
+        return index;
+    }
+
+    /**
+     * Method for restoring the placement of the pattern tiles from its index
+     *
+     * @param index     index of the placement
+     * @param positions array receiving the cells of the pattern tiles
+     */
+    private void unrank(long index, final int[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            int digit = (int) (index / multipliers[i]);
+            index %= multipliers[i];
+
+            int cell = 0;
+            while (true) {
+                boolean used = false;
+                for (int j = 0; j < i; j++) {
+                    if (positions[j] == cell) {
+                        used = true;
+                        break;
+                    }
+                }
+                if (!used && digit-- == 0) {
+                    break;
+                }
+                cell++;
+            }
+            positions[i] = cell;
+        }
+    }
+
+    /**
+     * Method for calculating the Manhattan distances of the pattern tiles
+     *
+     * @param positions cells of the pattern tiles
+     * @return sum of the pattern tiles' Manhattan distances
+     */
+    private int manhattan(final int[] positions) {
+        int manhattan = 0;
+        for (int i = 0; i < positions.length; i++) {
+            manhattan += Math.abs(positions[i] / boardSize - goalPositions[i] / boardSize) +
+                    Math.abs(positions[i] % boardSize - goalPositions[i] % boardSize);
+        }
+        return manhattan;
+    }
+
+    /**
+     * Method for filling the map from cells to pattern tile indices
+     *
+     * @param positions cells of the pattern tiles
+     * @param tileAt    array receiving the pattern tile index at every cell or -1
+     */
+    private static void fillTileAt(final int[] positions, final int[] tileAt) {
+        Arrays.fill(tileAt, -1);
+        for (int i = 0; i < positions.length; i++) {
+            tileAt[positions[i]] = i;
+        }
+    }
+
+    /**
+     * Method for calculating the visited mark of a depth
+     *
+     * @param depth depth of a state
+     * @return mark between 1 and 2
+     */
+    private static int mark(final int depth) {
+        return depth % 2 + 1;
+    }
+
+    /**
+     * Method for generating the database file name, unique per board size, goal layout and pattern
+     *
+     * @return file name
+     */
+    private String fileName() {
+        final StringBuilder sb = new StringBuilder("pdb-").append(boardSize).append('x').append(boardSize)
+                .append("-z").append(goalZeroIndex);
+        for (final int tile : tiles) {
+            sb.append('-').append(tile);
+        }
+        return sb.append(".nib").toString();
+    }
+}
@@ -0,0 +1,118 @@
+package ida;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Heuristic adding disjoint pattern databases on top of the Manhattan distance. The databases are loaded, and built
+ * if their files are missing, the first time the heuristic is evaluated.
+ */
+public final class PatternDatabaseHeuristic implements Heuristic {
+    /**
+     * 6-6-3 partition of the 15 puzzle, the smallest databases to build
+     */
+    public static final int[][] FIFTEEN_PUZZLE_6_6_3 = {{1, 2, 5, 6, 9, 13}, {3, 4, 7, 8, 11, 12}, {10, 14, 15}};
+    /**
+     * 7-8 partition of the 15 puzzle, stronger but the 8 tile database needs several gigabytes while being built
+     */
+    public static final int[][] FIFTEEN_PUZZLE_7_8 = {{9, 10, 11, 12, 13, 14, 15}, {1, 2, 3, 4, 5, 6, 7, 8}};
+    /**
+     * 6-6-6-6 partition of the 24 puzzle
+     */
+    public static final int[][] TWENTY_FOUR_PUZZLE_6_6_6_6 = {{1, 2, 6, 7, 11, 12}, {3, 4, 5, 8, 9, 10},
+            {16, 17, 18, 21, 22, 23}, {13, 14, 15, 19, 20, 24}};
+
+    private final ManhattanHeuristic manhattan;
+    private final PatternDatabase[] databases;
+    private final int[] databaseOfTile;
+    private final Path directory;
+    private volatile boolean loaded;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param partition      disjoint groups of tiles, one database per group
+     * @param boardSize      size of the board
+     * @param rowCoordinates array containing the row coordinates of all tiles in the goal position
+     * @param colCoordinates array containing the column coordinates of all tiles in the goal position
+     * @param goalZeroIndex  index of the zero/blank tile in the goal position board
+     * @param directory      directory the database files are kept in
+     */
+    public PatternDatabaseHeuristic(final int[][] partition, final int boardSize, final int[] rowCoordinates,
+                                    final int[] colCoordinates, final int goalZeroIndex, final Path directory) {
+        this.manhattan = new ManhattanHeuristic(rowCoordinates, colCoordinates);
+        this.databases = new PatternDatabase[partition.length];
+        this.databaseOfTile = new int[boardSize * boardSize];
+        this.directory = directory;
+        Arrays.fill(databaseOfTile, -1);
+
+        for (int i = 0; i < partition.length; i++) {
+            for (final int tile : partition[i]) {
+                if (tile < 1 || tile >= databaseOfTile.length || databaseOfTile[tile] != -1) {
+                    throw new IllegalArgumentException("Tile " + tile + " is not valid in a disjoint partition");
+                }
+                databaseOfTile[tile] = i;
+            }
+            databases[i] = new PatternDatabase(partition[i], boardSize, rowCoordinates, colCoordinates, goalZeroIndex);
+        }
+    }
+
+    /**
+     * Method for getting the default partition for a board size
+     *
+     * @param boardSize size of the board
+     * @return 6-6-3 partition for the 15 puzzle or 6-6-6-6 partition for the 24 puzzle
+     */
+    public static int[][] defaultPartition(final int boardSize) {
+        switch (boardSize) {
+            case 4:
+                return FIFTEEN_PUZZLE_6_6_3;
+            case 5:
+                return TWENTY_FOUR_PUZZLE_6_6_6_6;
+            default:
+                throw new IllegalArgumentException("No pattern databases for " + boardSize + "x" + boardSize + " boards");
+        }
+    }
+
+    @Override
+    public int evaluate(final Board board) {
+        if (!loaded) {
+            load();
+        }
+        int h = manhattan.evaluate(board);
+        for (final PatternDatabase database : databases) {
+            h += database.getExcess(board, 0, 0);
+        }
+        return h;
+    }
+
+    @Override
+    public int update(final Board board, final int h, final int tile, final int fromIndex, final int toIndex) {
+        final int updated = manhattan.update(board, h, tile, fromIndex, toIndex);
+        final int database = databaseOfTile[tile];
+        if (database == -1) {
+            return updated;
+        }
+        return updated + databases[database].getExcess(board, 0, 0) - databases[database].getExcess(board, tile, fromIndex);
+    }
+
+    /**
+     * Method for loading all databases the first time they are needed. Threads sharing the heuristic wait for the
+     * first one to finish loading.
+     */
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        try {
+            for (final PatternDatabase database : databases) {
+                database.load(directory);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Pattern databases could not be loaded from " + directory, e);
+        }
+        loaded = true;
+    }
+}
@@ -0,0 +1,169 @@
+package ida;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of puzzle files parsing integers straight from a buffered file channel. Every puzzle has the same format as
+ * the interactive input: the number of tiles, the index of the zero/blank tile in the goal position or -1 for the
+ * last position, and the tiles row by row. Puzzles are separated by any whitespace.
+ */
+final class PuzzleReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfFile;
+
+    /**
+     * Puzzle read from the file
+     */
+    static final class Puzzle {
+        private final int zeroIndex;
+        private final int[][] board;
+
+        /**
+         * Constructor with parameters
+         *
+         * @param zeroIndex index of the zero/blank tile in the goal position board
+         * @param board     board matrix representing the starting position
+         */
+        private Puzzle(final int zeroIndex, final int[][] board) {
+            this.zeroIndex = zeroIndex;
+            this.board = board;
+        }
+
+        /**
+         * Getter for zeroIndex
+         *
+         * @return zeroIndex - index of the zero/blank tile in the goal position board
+         */
+        int getZeroIndex() {
+            return zeroIndex;
+        }
+
+        /**
+         * Getter for board
+         *
+         * @return board - board matrix representing the starting position
+         */
+        int[][] getBoard() {
+            return board;
+        }
+    }
+
+    /**
+     * Constructor with parameters
+     *
+     * @param file puzzle file
+     * @throws IOException if the file cannot be opened
+     */
+    PuzzleReader(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.flip();
+    }
+
+    /**
+     * Method for reading the next puzzle
+     *
+     * @return next puzzle or null at the end of the file
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    Puzzle next() throws IOException {
+        if (!skipWhitespace()) {
+            return null;
+        }
+
+        final int numberOfElements = nextInt();
+        final int boardSize = (int) Math.sqrt(numberOfElements + 1);
+        if (numberOfElements < 3 || boardSize * boardSize != numberOfElements + 1) {
+            throw new IOException("Invalid number of tiles: " + numberOfElements);
+        }
+        int zeroIndex = nextInt();
+        // Set zeroIndex to be the last element of the board if input was -1.
+        if (zeroIndex == -1) zeroIndex = numberOfElements;
+
+        final int[][] board = new int[boardSize][boardSize];
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                board[i][j] = nextInt();
+            }
+        }
+        return new Puzzle(zeroIndex, board);
+    }
+
+    /**
+     * Method for parsing the next integer
+     *
+     * @return parsed integer
+     * @throws IOException if the file ends or the next token is not an integer
+     */
+    private int nextInt() throws IOException {
+        if (!skipWhitespace()) {
+            throw new IOException("Unexpected end of puzzle file");
+        }
+
+        boolean negative = false;
+        if (buffer.get(buffer.position()) == '-') {
+            negative = true;
+            buffer.get();
+        }
+
+        int value = 0, digits = 0;
+        while (fill()) {
+            final byte b = buffer.get(buffer.position());
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            digits++;
+            buffer.get();
+        }
+
+        if (digits == 0 || (fill() && !Character.isWhitespace(buffer.get(buffer.position())))) {
+            throw new IOException("Invalid number in puzzle file");
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Method for skipping whitespace
+     *
+     * @return true if there is more data after the whitespace
+     * @throws IOException if the file cannot be read
+     */
+    private boolean skipWhitespace() throws IOException {
+        while (fill()) {
+            if (!Character.isWhitespace(buffer.get(buffer.position()))) {
+                return true;
+            }
+            buffer.get();
+        }
+        return false;
+    }
+
+    /**
+     * Method for making sure the buffer has data to read
+     *
+     * @return true if there is data in the buffer, false at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private boolean fill() throws IOException {
+        while (!buffer.hasRemaining() && !endOfFile) {
+            buffer.clear();
+            endOfFile = channel.read(buffer) == -1;
+            buffer.flip();
+        }
+        return buffer.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,109 @@
+package ida;
+
+/**
+ * Plain counters of the work done by one search. Counting costs a few increments per node, so they are always on.
+ * Counters are not thread-safe; every thread counts into its own and they are added up afterwards.
+ */
+final class SearchCounters {
+    private long nodesGenerated;
+    private long nodesExpanded;
+    private long heuristicEvaluations;
+    private int maxDepth;
+
+    /**
+     * Method for counting a node whose children are generated
+     */
+    void countExpanded() {
+        nodesExpanded++;
+    }
+
+    /**
+     * Method for counting a generated node and the heuristic evaluation it needs
+     *
+     * @param depth number of moves from the start position to the node
+     */
+    void countGenerated(final int depth) {
+        nodesGenerated++;
+        heuristicEvaluations++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /**
+     * Method for counting a generated node which needs no heuristic evaluation
+     *
+     * @param depth number of moves from the start position to the node
+     */
+    void countReached(final int depth) {
+        nodesGenerated++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /**
+     * Method for counting a full heuristic evaluation of a board which was not generated by a move
+     */
+    void countHeuristicEvaluation() {
+        heuristicEvaluations++;
+    }
+
+    /**
+     * Method for adding the counts of other counters to these
+     *
+     * @param other counters to be added
+     */
+    void add(final SearchCounters other) {
+        nodesGenerated += other.nodesGenerated;
+        nodesExpanded += other.nodesExpanded;
+        heuristicEvaluations += other.heuristicEvaluations;
+        maxDepth = Math.max(maxDepth, other.maxDepth);
+    }
+
+    /**
+     * Method for setting all counters back to zero
+     */
+    void clear() {
+        nodesGenerated = 0;
+        nodesExpanded = 0;
+        heuristicEvaluations = 0;
+        maxDepth = 0;
+    }
+
+    /**
+     * Getter for nodesGenerated
+     *
+     * @return nodesGenerated - number of boards reached by a move
+     */
+    long getNodesGenerated() {
+        return nodesGenerated;
+    }
+
+    /**
+     * Getter for nodesExpanded
+     *
+     * @return nodesExpanded - number of boards whose children were generated
+     */
+    long getNodesExpanded() {
+        return nodesExpanded;
+    }
+
+    /**
+     * Getter for heuristicEvaluations
+     *
+     * @return heuristicEvaluations - number of full or incremental heuristic evaluations
+     */
+    long getHeuristicEvaluations() {
+        return heuristicEvaluations;
+    }
+
+    /**
+     * Getter for maxDepth
+     *
+     * @return maxDepth - largest number of moves from the start position to a generated board
+     */
+    int getMaxDepth() {
+        return maxDepth;
+    }
+}
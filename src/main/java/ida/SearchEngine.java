@@ -0,0 +1,26 @@
+package ida;
+
+/**
+ * Search engines solving a board. IDA* needs almost no memory but re-expands the shallow boards in every iteration,
+ * while the bidirectional breadth-first search expands every board once and keeps all of them in memory, which is
+ * the faster choice for boards small enough to fit.
+ */
+public enum SearchEngine {
+    IDA_STAR,
+    BIDIRECTIONAL;
+
+    /**
+     * Largest board size picked for the bidirectional search by default
+     */
+    public static final int BIDIRECTIONAL_MAX_BOARD_SIZE = 3;
+
+    /**
+     * Method for picking the engine for a board size
+     *
+     * @param boardSize size of the board
+     * @return BIDIRECTIONAL for boards up to BIDIRECTIONAL_MAX_BOARD_SIZE, IDA_STAR for larger ones
+     */
+    public static SearchEngine forBoardSize(final int boardSize) {
+        return boardSize <= BIDIRECTIONAL_MAX_BOARD_SIZE ? BIDIRECTIONAL : IDA_STAR;
+    }
+}
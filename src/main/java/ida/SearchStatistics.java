@@ -0,0 +1,274 @@
+package ida;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Statistics of the IDA* iterations of one solve: nodes generated and expanded, heuristic evaluations, the deepest
+ * board reached and the time spent, per threshold and in total. The ratio of generated to expanded nodes is the mean
+ * branching factor, while the effective branching factor is the ratio of the nodes generated by an iteration to those
+ * of the previous one. Nodes per second relate the search effort to the hardware. The bidirectional search records
+ * its breadth-first layers as iterations.
+ */
+public final class SearchStatistics {
+    private final List<Iteration> iterations;
+
+    /**
+     * Statistics of a single iteration with one threshold
+     */
+    public static final class Iteration {
+        private final int threshold;
+        private final long nodesGenerated;
+        private final long nodesExpanded;
+        private final long heuristicEvaluations;
+        private final int maxDepth;
+        private final long elapsedNanos;
+
+        /**
+         * Constructor with parameters
+         *
+         * @param threshold    threshold of the iteration
+         * @param counters     counters of the work done in the iteration
+         * @param elapsedNanos time the iteration took in nanoseconds
+         */
+        private Iteration(final int threshold, final SearchCounters counters, final long elapsedNanos) {
+            this.threshold = threshold;
+            this.nodesGenerated = counters.getNodesGenerated();
+            this.nodesExpanded = counters.getNodesExpanded();
+            this.heuristicEvaluations = counters.getHeuristicEvaluations();
+            this.maxDepth = counters.getMaxDepth();
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Getter for threshold
+         *
+         * @return threshold - threshold of the iteration
+         */
+        public int getThreshold() {
+            return threshold;
+        }
+
+        /**
+         * Getter for nodesGenerated
+         *
+         * @return nodesGenerated - number of boards reached by a move
+         */
+        public long getNodesGenerated() {
+            return nodesGenerated;
+        }
+
+        /**
+         * Getter for nodesExpanded
+         *
+         * @return nodesExpanded - number of boards whose children were generated
+         */
+        public long getNodesExpanded() {
+            return nodesExpanded;
+        }
+
+        /**
+         * Getter for heuristicEvaluations
+         *
+         * @return heuristicEvaluations - number of full or incremental heuristic evaluations
+         */
+        public long getHeuristicEvaluations() {
+            return heuristicEvaluations;
+        }
+
+        /**
+         * Getter for maxDepth
+         *
+         * @return maxDepth - largest number of moves from the start position to a generated board
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Getter for elapsedNanos
+         *
+         * @return elapsedNanos - time the iteration took in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * Default constructor with no iterations
+     */
+    public SearchStatistics() {
+        this.iterations = new ArrayList<>();
+    }
+
+    /**
+     * Method for recording a finished iteration
+     *
+     * @param threshold    threshold of the iteration
+     * @param counters     counters of the work done in the iteration
+     * @param elapsedNanos time the iteration took in nanoseconds
+     */
+    void addIteration(final int threshold, final SearchCounters counters, final long elapsedNanos) {
+        iterations.add(new Iteration(threshold, counters, elapsedNanos));
+    }
+
+    /**
+     * Getter for iterations
+     *
+     * @return iterations - unmodifiable list of the iterations in the order they ran
+     */
+    public List<Iteration> getIterations() {
+        return Collections.unmodifiableList(iterations);
+    }
+
+    /**
+     * Method for getting the number of generated nodes of all iterations
+     *
+     * @return number of boards reached by a move
+     */
+    public long getNodesGenerated() {
+        return iterations.stream().mapToLong(Iteration::getNodesGenerated).sum();
+    }
+
+    /**
+     * Method for getting the number of expanded nodes of all iterations
+     *
+     * @return number of boards whose children were generated
+     */
+    public long getNodesExpanded() {
+        return iterations.stream().mapToLong(Iteration::getNodesExpanded).sum();
+    }
+
+    /**
+     * Method for getting the number of heuristic evaluations of all iterations
+     *
+     * @return number of full or incremental heuristic evaluations
+     */
+    public long getHeuristicEvaluations() {
+        return iterations.stream().mapToLong(Iteration::getHeuristicEvaluations).sum();
+    }
+
+    /**
+     * Method for getting the deepest board reached in any iteration
+     *
+     * @return largest number of moves from the start position to a generated board
+     */
+    public int getMaxDepth() {
+        return iterations.stream().mapToInt(Iteration::getMaxDepth).max().orElse(0);
+    }
+
+    /**
+     * Method for getting the time spent in all iterations
+     *
+     * @return time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return iterations.stream().mapToLong(Iteration::getElapsedNanos).sum();
+    }
+
+    /**
+     * Method for getting the search speed over all iterations
+     *
+     * @return generated nodes per second, 0 if no time was measured
+     */
+    public double getNodesPerSecond() {
+        return nodesPerSecond(getNodesGenerated(), getElapsedNanos());
+    }
+
+    /**
+     * Method for exporting the statistics as a JSON object with the totals and an array of the iterations
+     *
+     * @return JSON representation of the statistics
+     */
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder("{");
+        appendCounts(sb, getNodesGenerated(), getNodesExpanded(), getHeuristicEvaluations(), getMaxDepth(), getElapsedNanos());
+        appendEffectiveBranchingFactor(sb, getEffectiveBranchingFactor());
+        sb.append(",\"iterations\":[");
+        for (int i = 0; i < iterations.size(); i++) {
+            final Iteration iteration = iterations.get(i);
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"threshold\":").append(iteration.threshold).append(',');
+            appendCounts(sb, iteration.nodesGenerated, iteration.nodesExpanded, iteration.heuristicEvaluations,
+                    iteration.maxDepth, iteration.elapsedNanos);
+            appendEffectiveBranchingFactor(sb, effectiveBranchingFactor(i));
+            sb.append('}');
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    /**
+     * Method for appending the JSON members shared by the totals and the iterations
+     *
+     * @param sb                   builder receiving the members
+     * @param nodesGenerated       number of boards reached by a move
+     * @param nodesExpanded        number of boards whose children were generated
+     * @param heuristicEvaluations number of full or incremental heuristic evaluations
+     * @param maxDepth             largest number of moves from the start position to a generated board
+     * @param elapsedNanos         time in nanoseconds
+     */
+    private static void appendCounts(final StringBuilder sb, final long nodesGenerated, final long nodesExpanded,
+                                     final long heuristicEvaluations, final int maxDepth, final long elapsedNanos) {
+        sb.append("\"nodesGenerated\":").append(nodesGenerated)
+                .append(",\"nodesExpanded\":").append(nodesExpanded)
+                .append(",\"heuristicEvaluations\":").append(heuristicEvaluations)
+                .append(",\"maxDepth\":").append(maxDepth)
+                .append(",\"elapsedMillis\":").append(String.format(Locale.ROOT, "%.3f", elapsedNanos / 1e6))
+                .append(",\"nodesPerSecond\":").append(String.format(Locale.ROOT, "%.0f", nodesPerSecond(nodesGenerated, elapsedNanos)))
+                .append(",\"meanBranchingFactor\":").append(String.format(Locale.ROOT, "%.4f",
+                        nodesExpanded == 0 ? 0.0 : (double) nodesGenerated / nodesExpanded));
+    }
+
+    /**
+     * Method for appending the effective branching factor as a JSON member
+     *
+     * @param sb                       builder receiving the member
+     * @param effectiveBranchingFactor ratio of the generated nodes of successive iterations
+     */
+    private static void appendEffectiveBranchingFactor(final StringBuilder sb, final double effectiveBranchingFactor) {
+        sb.append(",\"effectiveBranchingFactor\":").append(String.format(Locale.ROOT, "%.4f", effectiveBranchingFactor));
+    }
+
+    /**
+     * Method for getting the effective branching factor of the last iteration
+     *
+     * @return nodes generated by the last iteration divided by those of the one before, 0 with fewer than two
+     */
+    public double getEffectiveBranchingFactor() {
+        return effectiveBranchingFactor(iterations.size() - 1);
+    }
+
+    /**
+     * Method for computing the effective branching factor of an iteration
+     *
+     * @param index index of the iteration
+     * @return nodes generated by the iteration divided by those of the one before, 0 for the first iteration
+     */
+    private double effectiveBranchingFactor(final int index) {
+        if (index < 1 || iterations.get(index - 1).nodesGenerated == 0) {
+            return 0.0;
+        }
+        return (double) iterations.get(index).nodesGenerated / iterations.get(index - 1).nodesGenerated;
+    }
+
+    /**
+     * Method for computing a search speed
+     *
+     * @param nodes        number of generated nodes
+     * @param elapsedNanos time in nanoseconds
+     * @return nodes per second, 0 if no time was measured
+     */
+    private static double nodesPerSecond(final long nodes, final long elapsedNanos) {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,124 @@
+package ida;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of solving a single board: whether it was solved, the moves from the start to the goal position and the
+ * statistics of the search
+ */
+public final class Solution {
+    private static final Move[] NO_MOVES = new Move[0];
+
+    /**
+     * Outcome of a solve
+     */
+    public enum Status {
+        SOLVED, NOT_SOLVABLE, NOT_FOUND
+    }
+
+    private final Status status;
+    private final Move[] moves;
+    private final SearchStatistics statistics;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param status     outcome of the solve
+     * @param moves      moves from the start to the goal position, empty unless solved
+     * @param statistics statistics of the search
+     */
+    private Solution(final Status status, final Move[] moves, final SearchStatistics statistics) {
+        this.status = status;
+        this.moves = moves;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Method for creating a solved result without search statistics
+     *
+     * @param path moves from the start to the goal position
+     * @return solved result
+     */
+    static Solution solved(final PathStack path) {
+        return solved(path, new SearchStatistics());
+    }
+
+    /**
+     * Method for creating a solved result
+     *
+     * @param path       moves from the start to the goal position
+     * @param statistics statistics of the search
+     * @return solved result
+     */
+    static Solution solved(final PathStack path, final SearchStatistics statistics) {
+        return new Solution(Status.SOLVED, path.toArray(), statistics);
+    }
+
+    /**
+     * Method for creating an unsolved result without search statistics
+     *
+     * @param status reason the board was not solved
+     * @return unsolved result
+     */
+    static Solution unsolved(final Status status) {
+        return unsolved(status, new SearchStatistics());
+    }
+
+    /**
+     * Method for creating an unsolved result
+     *
+     * @param status     reason the board was not solved
+     * @param statistics statistics of the search
+     * @return unsolved result
+     */
+    static Solution unsolved(final Status status, final SearchStatistics statistics) {
+        return new Solution(status, NO_MOVES, statistics);
+    }
+
+    /**
+     * Getter for status
+     *
+     * @return status - outcome of the solve
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Method for checking if the board was solved
+     *
+     * @return true if the moves lead to the goal position
+     */
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Getter for moves
+     *
+     * @return moves - unmodifiable list of moves from the start to the goal position
+     */
+    public List<Move> getMoves() {
+        return Collections.unmodifiableList(Arrays.asList(moves));
+    }
+
+    /**
+     * Method for getting the number of moves
+     *
+     * @return number of moves from the start to the goal position
+     */
+    public int getLength() {
+        return moves.length;
+    }
+
+    /**
+     * Getter for statistics
+     *
+     * @return statistics - statistics of the search, without iterations if no IDA* iterations ran
+     */
+    public SearchStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,104 @@
+package ida;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Fixed-size transposition table for IDA*, keyed by Zobrist hashes of the boards. It remembers the lowest cost at
+ * which a board was reached in the current iteration, so a board reached again at the same or higher cost is not
+ * searched twice. Entries of older iterations or with higher costs are replaced first.
+ */
+public final class TranspositionTable {
+    private static final long ZOBRIST_SEED = 0x5EED_1DA5L;
+    private static final int COST_BITS = 8;
+    private static final int COST_MASK = (1 << COST_BITS) - 1;
+
+    private final long[] zobrist;
+    private final int cells;
+    private final long[] keys;
+    private final int[] entries;
+    private final int mask;
+    private int iteration;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param boardSize size of the board
+     * @param bits      base 2 logarithm of the number of entries
+     */
+    public TranspositionTable(final int boardSize, final int bits) {
+        if (bits < 1 || bits > 30) {
+            throw new IllegalArgumentException("Transposition table size must be between 2^1 and 2^30 entries");
+        }
+        this.cells = boardSize * boardSize;
+        this.zobrist = new long[cells * cells];
+        final RandomGenerator random = RandomGeneratorFactory.of("L64X128MixRandom").create(ZOBRIST_SEED);
+        for (int i = 0; i < zobrist.length; i++) {
+            zobrist[i] = random.nextLong();
+        }
+        this.keys = new long[1 << bits];
+        this.entries = new int[1 << bits];
+        this.mask = (1 << bits) - 1;
+        this.iteration = 0;
+    }
+
+    /**
+     * Method for calculating the Zobrist hash of a board
+     *
+     * @param board packed board
+     * @return hash of the board
+     */
+    public long hash(final Board board) {
+        long hash = 0;
+        for (int index = 0; index < cells; index++) {
+            if (board.getTile(index) != 0) {
+                hash ^= zobrist[board.getTile(index) * cells + index];
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Method for updating the Zobrist hash of a board after a single tile moved
+     *
+     * @param hash      hash of the board before the move
+     * @param tile      tile which was moved
+     * @param fromIndex row-major index the tile was moved from
+     * @param toIndex   row-major index the tile was moved to
+     * @return hash of the board after the move
+     */
+    public long update(final long hash, final int tile, final int fromIndex, final int toIndex) {
+        return hash ^ zobrist[tile * cells + fromIndex] ^ zobrist[tile * cells + toIndex];
+    }
+
+    /**
+     * Method for starting a new iteration, which makes all stored entries stale
+     */
+    public void nextIteration() {
+        iteration++;
+    }
+
+    /**
+     * Method for checking if a board was already reached in this iteration at the same or lower cost. Otherwise the
+     * board is stored with the given cost, unless its slot holds a board of this iteration with a lower cost.
+     *
+     * @param hash hash of the board
+     * @param g    the cost to travel from the start position to the board
+     * @return true if the board does not have to be searched again
+     */
+    public boolean visit(final long hash, final int g) {
+        final int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        final int entry = entries[slot];
+        final boolean current = entry >>> COST_BITS == iteration;
+        final int storedG = entry & COST_MASK;
+
+        if (current && keys[slot] == hash && storedG <= g) {
+            return true;
+        }
+        if (!current || storedG >= g) {
+            keys[slot] = hash;
+            entries[slot] = iteration << COST_BITS | Math.min(g, COST_MASK);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,365 @@
+package ida;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Walking distance heuristic. For the vertical part a board is reduced to a table counting, for every row, how many
+ * of its tiles belong to each goal row; tiles of the blank's neighbour rows can step into the blank's row one at a
+ * time. The number of steps needed to reach the goal table is precomputed with a breadth-first search, and the
+ * horizontal part is the same search on columns. Tables are encoded into long keys which are looked up with a
+ * binary search. The 4x4 tables have a few tens of thousands of entries, while the 5x5 ones do not fit in a
+ * reasonable heap, so larger boards should use pattern databases instead. A search keeps the keys of the boards on
+ * its path, so a move only applies its difference to the parent's key.
+ */
+public final class WalkingDistanceHeuristic implements Heuristic {
+    private static final int MAX_BOARD_SIZE = 4;
+
+    private final int[] rowCoordinates;
+    private final int[] colCoordinates;
+    private final int boardSize;
+    private final int bits;
+    private final long[] rowKeys;
+    private final byte[] rowDistances;
+    private final long[] colKeys;
+    private final byte[] colDistances;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param boardSize      size of the board
+     * @param rowCoordinates array containing row coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     * @param colCoordinates array containing col coordinates of the tiles in the goal board state
+     *                       (zero/blank tile not included)
+     * @param goalZeroIndex  index of the zero/blank tile in the goal position board
+     */
+    public WalkingDistanceHeuristic(final int boardSize, final int[] rowCoordinates, final int[] colCoordinates, final int goalZeroIndex) {
+        if (boardSize > MAX_BOARD_SIZE) {
+            throw new IllegalArgumentException("Walking distance is not supported on " + boardSize + "x" + boardSize + " boards");
+        }
+        this.rowCoordinates = rowCoordinates;
+        this.colCoordinates = colCoordinates;
+        this.boardSize = boardSize;
+        this.bits = 32 - Integer.numberOfLeadingZeros(boardSize);
+
+        final Map<Long, Integer> rowTable = generateTable(goalZeroIndex / boardSize);
+        this.rowKeys = keys(rowTable);
+        this.rowDistances = distances(rowTable, rowKeys);
+
+        if (goalZeroIndex % boardSize == goalZeroIndex / boardSize) {
+            this.colKeys = rowKeys;
+            this.colDistances = rowDistances;
+        } else {
+            final Map<Long, Integer> colTable = generateTable(goalZeroIndex % boardSize);
+            this.colKeys = keys(colTable);
+            this.colDistances = distances(colTable, colKeys);
+        }
+    }
+
+    @Override
+    public int evaluate(final Board board) {
+        return lookup(rowKeys, rowDistances, key(board, true)) + lookup(colKeys, colDistances, key(board, false));
+    }
+
+    @Override
+    public Heuristic forSearch(final Board board) {
+        return new Search(board);
+    }
+
+    /**
+     * Method for updating the heuristic estimate after a single tile moved, without knowing the keys of the board
+     * before the move. A vertical move only changes the row table and a horizontal move only the column table. The
+     * key before the move differs from the key after it in two counts and the blank's line.
+     *
+     * @param board     packed board after the move
+     * @param h         heuristic estimate of the board before the move
+     * @param tile      tile which was moved
+     * @param fromIndex row-major index the tile was moved from
+     * @param toIndex   row-major index the tile was moved to
+     * @return heuristic estimate of the board after the move
+     */
+    @Override
+    public int update(final Board board, final int h, final int tile, final int fromIndex, final int toIndex) {
+        final boolean rows = fromIndex / boardSize != toIndex / boardSize;
+        final long[] keys = rows ? rowKeys : colKeys;
+        final byte[] distances = rows ? rowDistances : colDistances;
+        final int fromLine = rows ? fromIndex / boardSize : fromIndex % boardSize;
+        final int toLine = rows ? toIndex / boardSize : toIndex % boardSize;
+        final int goalLine = rows ? rowCoordinates[tile - 1] : colCoordinates[tile - 1];
+
+        final long after = key(board, rows);
+        final long before = after - keyDelta(fromLine, toLine, goalLine);
+
+        return h - lookup(keys, distances, before) + lookup(keys, distances, after);
+    }
+
+    /**
+     * Method for calculating the difference a move makes to the row or column key
+     *
+     * @param fromLine line the tile was moved from, which the blank moved into
+     * @param toLine   line the tile was moved to, which the blank moved out of
+     * @param goalLine line the tile belongs to
+     * @return key after the move minus the key before it
+     */
+    private long keyDelta(final int fromLine, final int toLine, final int goalLine) {
+        return countBit(toLine, goalLine) - countBit(fromLine, goalLine) + ((long) (fromLine - toLine) << blankShift());
+    }
+
+    /**
+     * Method for encoding the row or column table of a board
+     *
+     * @param board packed board
+     * @param rows  flag determining if the row table should be encoded
+     * @return key of the table
+     */
+    private long key(final Board board, final boolean rows) {
+        long key = 0;
+        for (int index = 0; index < boardSize * boardSize; index++) {
+            final int tile = board.getTile(index);
+            if (tile != 0) {
+                key += rows ? countBit(index / boardSize, rowCoordinates[tile - 1]) : countBit(index % boardSize, colCoordinates[tile - 1]);
+            }
+        }
+        return key + ((long) (rows ? board.getZeroRow() : board.getZeroCol()) << blankShift());
+    }
+
+    /**
+     * Method for getting the value added to a key by one tile. Counts of the last goal line are implied by the line
+     * sizes, so they are not stored.
+     *
+     * @param line     line the tile is in
+     * @param goalLine line the tile belongs to
+     * @return value of the tile in the key
+     */
+    private long countBit(final int line, final int goalLine) {
+        return goalLine == boardSize - 1 ? 0 : 1L << ((line * (boardSize - 1) + goalLine) * bits);
+    }
+
+    /**
+     * Method for getting the position of the blank's line in a key
+     *
+     * @return shift of the blank's line
+     */
+    private int blankShift() {
+        return boardSize * (boardSize - 1) * bits;
+    }
+
+    /**
+     * Method for generating the walking distances of all reachable tables with a breadth-first search from the goal
+     *
+     * @param goalZeroLine line of the zero/blank tile in the goal position
+     * @return map of distances by key
+     */
+    private Map<Long, Integer> generateTable(final int goalZeroLine) {
+        final int[][] counts = new int[boardSize][boardSize];
+        for (int line = 0; line < boardSize; line++) {
+            counts[line][line] = line == goalZeroLine ? boardSize - 1 : boardSize;
+        }
+
+        final Map<Long, Integer> table = new HashMap<>();
+        final Deque<Long> queue = new ArrayDeque<>();
+        final long goalKey = encode(counts, goalZeroLine);
+        table.put(goalKey, 0);
+        queue.add(goalKey);
+
+        while (!queue.isEmpty()) {
+            final long key = queue.poll();
+            final int distance = table.get(key);
+            final int blank = decode(key, counts);
+
+            for (int neighbour = blank - 1; neighbour <= blank + 1; neighbour += 2) {
+                if (neighbour < 0 || neighbour >= boardSize) {
+                    continue;
+                }
+                for (int goalLine = 0; goalLine < boardSize; goalLine++) {
+                    if (counts[neighbour][goalLine] == 0) {
+                        continue;
+                    }
+                    counts[neighbour][goalLine]--;
+                    counts[blank][goalLine]++;
+                    final long next = encode(counts, neighbour);
+                    counts[neighbour][goalLine]++;
+                    counts[blank][goalLine]--;
+
+                    if (!table.containsKey(next)) {
+                        table.put(next, distance + 1);
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Method for encoding a table of counts
+     *
+     * @param counts    counts of tiles by line and goal line
+     * @param blankLine line of the zero/blank tile
+     * @return key of the table
+     */
+    private long encode(final int[][] counts, final int blankLine) {
+        long key = 0;
+        for (int line = 0; line < boardSize; line++) {
+            for (int goalLine = 0; goalLine < boardSize - 1; goalLine++) {
+                key += counts[line][goalLine] * countBit(line, goalLine);
+            }
+        }
+        return key + ((long) blankLine << blankShift());
+    }
+
+    /**
+     * Method for decoding a key into a table of counts
+     *
+     * @param key    key of the table
+     * @param counts array receiving the counts of tiles by line and goal line
+     * @return line of the zero/blank tile
+     */
+    private int decode(final long key, final int[][] counts) {
+        final int blankLine = (int) (key >>> blankShift());
+        for (int line = 0; line < boardSize; line++) {
+            int rest = line == blankLine ? boardSize - 1 : boardSize;
+            for (int goalLine = 0; goalLine < boardSize - 1; goalLine++) {
+                counts[line][goalLine] = (int) (key >>> ((line * (boardSize - 1) + goalLine) * bits)) & ((1 << bits) - 1);
+                rest -= counts[line][goalLine];
+            }
+            counts[line][boardSize - 1] = rest;
+        }
+        return blankLine;
+    }
+
+    /**
+     * Method for getting the sorted keys of a table
+     *
+     * @param table map of distances by key
+     * @return sorted array of keys
+     */
+    private static long[] keys(final Map<Long, Integer> table) {
+        final long[] keys = new long[table.size()];
+        int i = 0;
+        for (final long key : table.keySet()) {
+            keys[i++] = key;
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Method for getting the distances of a table in the order of its sorted keys
+     *
+     * @param table map of distances by key
+     * @param keys  sorted array of keys
+     * @return array of distances
+     */
+    private static byte[] distances(final Map<Long, Integer> table, final long[] keys) {
+        final byte[] distances = new byte[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            distances[i] = (byte) (int) table.get(keys[i]);
+        }
+        return distances;
+    }
+
+    /**
+     * Method for looking up the walking distance of a key
+     *
+     * @param keys      sorted array of keys
+     * @param distances array of distances in the order of the keys
+     * @param key       key of the table
+     * @return walking distance
+     */
+    private static int lookup(final long[] keys, final byte[] distances, final long key) {
+        return distances[Arrays.binarySearch(keys, key)];
+    }
+
+    /**
+     * Walking distance of the boards on the path of a single search. The keys and distances of every board on the
+     * path are kept on stacks, so an update applies the move's difference to one key and looks up one distance, and
+     * a revert pops the stacks.
+     */
+    private final class Search implements Heuristic {
+        private long[] rowKeyStack = new long[64];
+        private long[] colKeyStack = new long[64];
+        private int[] rowDistanceStack = new int[64];
+        private int[] colDistanceStack = new int[64];
+        private int depth;
+
+        /**
+         * Constructor with parameters
+         *
+         * @param board packed board the search starts from
+         */
+        private Search(final Board board) {
+            evaluate(board);
+        }
+
+        /**
+         * Method for calculating the walking distance of a board and starting the path at it
+         *
+         * @param board packed board to be evaluated
+         * @return walking distance of the board
+         */
+        @Override
+        public int evaluate(final Board board) {
+            depth = 0;
+            rowKeyStack[0] = key(board, true);
+            colKeyStack[0] = key(board, false);
+            rowDistanceStack[0] = lookup(rowKeys, rowDistances, rowKeyStack[0]);
+            colDistanceStack[0] = lookup(colKeys, colDistances, colKeyStack[0]);
+            return rowDistanceStack[0] + colDistanceStack[0];
+        }
+
+        /**
+         * Method for pushing the board after a move onto the path. Only the key of the table changed by the move is
+         * looked up again.
+         *
+         * @param board     packed board after the move
+         * @param h         heuristic estimate of the board before the move
+         * @param tile      tile which was moved
+         * @param fromIndex row-major index the tile was moved from
+         * @param toIndex   row-major index the tile was moved to
+         * @return heuristic estimate of the board after the move
+         */
+        @Override
+        public int update(final Board board, final int h, final int tile, final int fromIndex, final int toIndex) {
+            if (depth + 1 == rowKeyStack.length) {
+                grow();
+            }
+            final int parent = depth++;
+            final long rowKey = rowKeyStack[parent], colKey = colKeyStack[parent];
+            final int rowDistance = rowDistanceStack[parent], colDistance = colDistanceStack[parent];
+
+            if (fromIndex / boardSize != toIndex / boardSize) {
+                rowKeyStack[depth] = rowKey + keyDelta(fromIndex / boardSize, toIndex / boardSize, rowCoordinates[tile - 1]);
+                rowDistanceStack[depth] = lookup(rowKeys, rowDistances, rowKeyStack[depth]);
+                colKeyStack[depth] = colKey;
+                colDistanceStack[depth] = colDistance;
+            } else {
+                colKeyStack[depth] = colKey + keyDelta(fromIndex % boardSize, toIndex % boardSize, colCoordinates[tile - 1]);
+                colDistanceStack[depth] = lookup(colKeys, colDistances, colKeyStack[depth]);
+                rowKeyStack[depth] = rowKey;
+                rowDistanceStack[depth] = rowDistance;
+            }
+            return rowDistanceStack[depth] + colDistanceStack[depth];
+        }
+
+        @Override
+        public void revert() {
+            depth--;
+        }
+
+        /**
+         * Method for doubling the capacity of the stacks
+         */
+        private void grow() {
+            final int capacity = rowKeyStack.length * 2;
+            rowKeyStack = Arrays.copyOf(rowKeyStack, capacity);
+            colKeyStack = Arrays.copyOf(colKeyStack, capacity);
+            rowDistanceStack = Arrays.copyOf(rowDistanceStack, capacity);
+            colDistanceStack = Arrays.copyOf(colDistanceStack, capacity);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package kmeans;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Little-endian doubles, point-major, without a header. The file is memory-mapped one window at a time, so files of
+// any size can be read without holding them on the heap.
+public class BinaryPointSource implements PointSource {
+
+    private static final long WINDOW_BYTES = 1L << 27;
+
+    private final FileChannel channel;
+    private final int dimensions;
+    private final long pointCount;
+    private final long windowPoints;
+    private long position;
+    private DoubleBuffer window;
+
+    public BinaryPointSource(final Path file, final int dimensions) throws IOException {
+        if (dimensions < 1) {
+            throw new IllegalArgumentException("At least one dimension is required");
+        }
+
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.dimensions = dimensions;
+
+        final long pointBytes = (long) dimensions * Double.BYTES;
+        if (channel.size() % pointBytes != 0) {
+            channel.close();
+            throw new IOException("File size is not a multiple of " + pointBytes + " bytes");
+        }
+
+        this.pointCount = channel.size() / pointBytes;
+        this.windowPoints = Math.max(1, WINDOW_BYTES / pointBytes);
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public long getPointCount() {
+        return pointCount;
+    }
+
+    @Override
+    public int read(final double[] buffer, final int maxPoints) throws IOException {
+        int count = 0;
+
+        while (count < maxPoints && position < pointCount) {
+            if (window == null || !window.hasRemaining()) {
+                final long points = Math.min(windowPoints, pointCount - position);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position * dimensions * Double.BYTES, points * dimensions * Double.BYTES)
+                        .order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+            }
+
+            final int points = Math.min(maxPoints - count, window.remaining() / dimensions);
+            window.get(buffer, count * dimensions, points * dimensions);
+            count += points;
+            position += points;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void rewind() {
+        position = 0;
+        window = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
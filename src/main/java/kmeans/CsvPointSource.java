@@ -0,0 +1,125 @@
+package kmeans;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// One point per line with comma separated coordinates. A first line which is not numeric is skipped as a header.
+public class CsvPointSource implements PointSource {
+
+    private final Path file;
+    private BufferedReader reader;
+    private double[] pending;
+    private final int dimensions;
+
+    public CsvPointSource(final Path file) throws IOException {
+        this(file, Files.newBufferedReader(file, StandardCharsets.UTF_8));
+    }
+
+    // A source reading from a stream, e.g. an unbounded feed, which cannot be rewound
+    public CsvPointSource(final Reader reader) throws IOException {
+        this(null, new BufferedReader(reader));
+    }
+
+    private CsvPointSource(final Path file, final BufferedReader reader) throws IOException {
+        this.file = file;
+        this.reader = reader;
+        this.pending = readFirstPoint();
+        this.dimensions = pending == null ? 0 : pending.length;
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    @Override
+    public int read(final double[] buffer, final int maxPoints) throws IOException {
+        int count = 0;
+
+        while (count < maxPoints) {
+            final double[] point = pending != null ? pending : nextPoint();
+            pending = null;
+            if (point == null) {
+                break;
+            }
+            System.arraycopy(point, 0, buffer, count * dimensions, dimensions);
+            count++;
+        }
+
+        return count;
+    }
+
+    @Override
+    public void rewind() throws IOException {
+        if (file == null) {
+            throw new UnsupportedOperationException("A stream cannot be rewound");
+        }
+
+        reader.close();
+        reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        pending = readFirstPoint();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private double[] readFirstPoint() throws IOException {
+        final String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+
+        try {
+            return parse(line);
+        } catch (final NumberFormatException e) {
+            // header
+            return nextPoint();
+        }
+    }
+
+    private double[] nextPoint() throws IOException {
+        final String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+
+        final double[] point;
+        try {
+            point = parse(line);
+        } catch (final NumberFormatException e) {
+            throw new IOException("Invalid point: " + line, e);
+        }
+        if (dimensions != 0 && point.length != dimensions) {
+            throw new IOException("Expected " + dimensions + " coordinates: " + line);
+        }
+
+        return point;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+
+        return line;
+    }
+
+    private static double[] parse(final String line) {
+        final String[] fields = line.split(",");
+        final double[] point = new double[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            point[i] = Double.parseDouble(fields[i].trim());
+        }
+
+        return point;
+    }
+}
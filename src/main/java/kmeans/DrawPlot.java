@@ -41,20 +41,21 @@ class DrawPlot extends JFrame {
         drawCoordinateLines(g2);
         g2.setStroke(new BasicStroke(STROKE_SIZE));
 
-        for (final Cluster cluster : plot.getClusters()) {
-            g2.setPaint(Color.BLACK);
-            final double centroidEllipseX = SIZE / 2.0 + max * cluster.getCentroid().getX();
-            final double centroidEllipseY = SIZE / 2.0 - max * cluster.getCentroid().getY();
-            g2.draw(new Ellipse2D.Double(centroidEllipseX, centroidEllipseY, POINT_SIZE, POINT_SIZE));
+        final KMeans kMeans = plot.getKMeans();
 
-            g2.setPaint(cluster.getColor());
+        g2.setPaint(Color.BLACK);
+        for (int c = 0; c < kMeans.getK(); c++) {
+            final double centroidEllipseX = SIZE / 2.0 + max * kMeans.getCentroid(c, 0);
+            final double centroidEllipseY = SIZE / 2.0 - max * kMeans.getCentroid(c, 1);
+            g2.draw(new Ellipse2D.Double(centroidEllipseX, centroidEllipseY, POINT_SIZE, POINT_SIZE));
+        }
 
-            for (final Point point : cluster.getPoints()) {
-                final double ellipseX = SIZE / 2.0 + max * point.getX();
-                final double ellipseY = SIZE / 2.0 - max * point.getY();
+        for (int i = 0; i < kMeans.getPointCount(); i++) {
+            final double ellipseX = SIZE / 2.0 + max * kMeans.getCoordinate(i, 0);
+            final double ellipseY = SIZE / 2.0 - max * kMeans.getCoordinate(i, 1);
 
-                g2.draw(new Ellipse2D.Double(ellipseX, ellipseY, POINT_SIZE, POINT_SIZE));
-            }
+            g2.setPaint(plot.getColor(kMeans.getAssignment(i)));
+            g2.draw(new Ellipse2D.Double(ellipseX, ellipseY, POINT_SIZE, POINT_SIZE));
         }
 
         g2.setPaint(Color.BLACK);
@@ -90,11 +91,7 @@ class DrawPlot extends JFrame {
         final double min = -5.0;
         final double max = -min;
         final int pointsPerCluster = 10;
-        final Plot plot = new Plot(numClusters, min, max);
-
-        for (final Cluster c : plot.getClusters()) {
-            c.getPoints().addAll(Point.generateRandomPoints(min, max, c.getCentroid(), pointsPerCluster));
-        }
+        final Plot plot = new Plot(numClusters, min, max, pointsPerCluster);
 
         final int iteration = 0;
         final DrawPlot drawPlot = new DrawPlot(plot, max, iteration);
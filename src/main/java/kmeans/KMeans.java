@@ -0,0 +1,433 @@
+package kmeans;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class KMeans {
+
+    // LLOYD compares every point with every centroid in every iteration. HAMERLY keeps an upper bound on the distance
+    // to the point's centroid and a lower bound on the distance to any other centroid, and skips the comparisons when
+    // the bounds show the point cannot have changed its cluster.
+    public enum Algorithm {
+        LLOYD, HAMERLY
+    }
+
+    public static final int UNASSIGNED = -1;
+    // More chunks than threads, so threads finishing early can steal the remaining chunks
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final int dimensions;
+    private final int pointCount;
+    private final int k;
+    // Point i occupies coordinates[i * dimensions] to coordinates[i * dimensions + dimensions - 1]
+    private final double[] coordinates;
+    private final double[] centroids;
+    private final int[] assignments;
+    private final int parallelism;
+    private final Algorithm algorithm;
+    // Points are split into chunks, each accumulating its own per-cluster sums and counts while assigning its points.
+    // All buffers are reused by every iteration.
+    private final int chunkCount;
+    private final double[][] chunkSums;
+    private final int[][] chunkCounts;
+    private final long[] chunkDistanceComputations;
+    private final double[] sums;
+    private final int[] counts;
+    // Hamerly bounds per point, and per centroid half the distance to the closest other centroid and how far the
+    // centroid moved in the last update
+    private final double[] upperBounds;
+    private final double[] lowerBounds;
+    private final double[] halfGaps;
+    private final double[] shifts;
+    private double largestShift;
+    private double secondLargestShift;
+    private int farthestMoved;
+    private boolean boundsValid;
+    private long distanceComputations;
+    private long lloydDistanceComputations;
+    private int iterations;
+
+    public KMeans(final double[] coordinates, final int dimensions, final double[] centroids) {
+        this(coordinates, dimensions, centroids, unassigned(coordinates.length / Math.max(dimensions, 1)));
+    }
+
+    public KMeans(final double[] coordinates, final int dimensions, final double[] centroids, final int[] assignments) {
+        this(coordinates, dimensions, centroids, assignments, 1);
+    }
+
+    // The coordinate and assignment arrays are used as they are, not copied, so large datasets are not held twice
+    public KMeans(final double[] coordinates, final int dimensions, final double[] centroids, final int[] assignments,
+            final int parallelism) {
+        this(coordinates, dimensions, centroids, assignments, parallelism, Algorithm.LLOYD);
+    }
+
+    public KMeans(final double[] coordinates, final int dimensions, final double[] centroids, final int[] assignments,
+            final int parallelism, final Algorithm algorithm) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("At least one thread is required");
+        }
+        if (dimensions < 1 || coordinates.length % dimensions != 0 || centroids.length % dimensions != 0) {
+            throw new IllegalArgumentException("Coordinates do not match " + dimensions + " dimensions");
+        }
+        if (centroids.length == 0) {
+            throw new IllegalArgumentException("At least one centroid is required");
+        }
+        if (assignments.length != coordinates.length / dimensions) {
+            throw new IllegalArgumentException("Every point needs an assignment");
+        }
+
+        this.dimensions = dimensions;
+        this.pointCount = coordinates.length / dimensions;
+        this.k = centroids.length / dimensions;
+        this.coordinates = coordinates;
+        this.centroids = centroids.clone();
+        this.assignments = assignments;
+        this.parallelism = parallelism;
+        this.algorithm = algorithm;
+        this.chunkCount = parallelism == 1 ? 1 : Math.max(1, Math.min(pointCount, parallelism * CHUNKS_PER_THREAD));
+        this.chunkSums = new double[chunkCount][centroids.length];
+        this.chunkCounts = new int[chunkCount][k];
+        this.chunkDistanceComputations = new long[chunkCount];
+        this.sums = new double[centroids.length];
+        this.counts = new int[k];
+
+        final boolean hamerly = algorithm == Algorithm.HAMERLY;
+        this.upperBounds = hamerly ? new double[pointCount] : null;
+        this.lowerBounds = hamerly ? new double[pointCount] : null;
+        this.halfGaps = hamerly ? new double[k] : null;
+        this.shifts = hamerly ? new double[k] : null;
+        this.farthestMoved = UNASSIGNED;
+
+        for (final int assignment : assignments) {
+            if (assignment < UNASSIGNED || assignment >= k) {
+                throw new IllegalArgumentException("Invalid assignment " + assignment);
+            }
+        }
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    // Point to centroid distances computed so far, plus the centroid to centroid and centroid shift distances HAMERLY
+    // needs
+    public long getDistanceComputations() {
+        return distanceComputations;
+    }
+
+    // Distances LLOYD would have computed in the same iterations, minus the ones actually computed
+    public long getDistanceComputationsSkipped() {
+        return lloydDistanceComputations - distanceComputations;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public double getCoordinate(final int point, final int dimension) {
+        return coordinates[point * dimensions + dimension];
+    }
+
+    public double getCentroid(final int cluster, final int dimension) {
+        return centroids[cluster * dimensions + dimension];
+    }
+
+    public int getAssignment(final int point) {
+        return assignments[point];
+    }
+
+    // Assigns every point to its closest centroid and moves the centroids to the means of their points. Returns false
+    // without touching the centroids once no point changes its cluster.
+    public boolean iterate() {
+        if (parallelism == 1) {
+            return iterate(null);
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return iterate(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public int run(final int maxIterations) {
+        final int start = iterations;
+        final ForkJoinPool pool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
+
+        try {
+            while (iterations - start < maxIterations && iterate(pool)) {
+                // iterate until converged or out of iterations
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        return iterations - start;
+    }
+
+    public double distance(final int point, final int cluster) {
+        return distanceBetweenOffsets(point * dimensions, cluster * dimensions);
+    }
+
+    // One Lloyd iteration, on the chunks in parallel if a pool is given. The chunks' partial sums are merged in chunk
+    // order, so the result does not depend on how the chunks were scheduled.
+    private boolean iterate(final ForkJoinPool pool) {
+        if (algorithm == Algorithm.HAMERLY && boundsValid) {
+            computeHalfGaps();
+        }
+
+        final boolean changed = pool == null ? assignChunk(0) : pool.invoke(new ChunkTask(0, chunkCount));
+
+        lloydDistanceComputations += (long) pointCount * k;
+        if (algorithm == Algorithm.LLOYD) {
+            distanceComputations += (long) pointCount * k;
+        } else {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                distanceComputations += chunkDistanceComputations[chunk];
+            }
+            // Every point now has exact or tightened bounds, and the last shifts are accounted for in them
+            boundsValid = true;
+            Arrays.fill(shifts, 0.0);
+            largestShift = 0;
+            secondLargestShift = 0;
+            farthestMoved = UNASSIGNED;
+        }
+
+        if (!changed) {
+            return false;
+        }
+
+        updateCentroids();
+        iterations++;
+
+        return true;
+    }
+
+    // Works on cluster indices only and allocates nothing, so a chunk is a plain O(n * k) loop
+    private boolean assignChunk(final int chunk) {
+        final int from = (int) ((long) pointCount * chunk / chunkCount);
+        final int to = (int) ((long) pointCount * (chunk + 1) / chunkCount);
+        final double[] partialSums = chunkSums[chunk];
+        final int[] partialCounts = chunkCounts[chunk];
+        boolean changed = false;
+
+        Arrays.fill(partialSums, 0.0);
+        Arrays.fill(partialCounts, 0);
+        chunkDistanceComputations[chunk] = 0;
+
+        for (int i = from, pointOffset = from * dimensions; i < to; i++, pointOffset += dimensions) {
+            final int closest = algorithm == Algorithm.HAMERLY
+                    ? getClosestCentroidWithBounds(chunk, i, pointOffset)
+                    : getClosestCentroidToPoint(pointOffset);
+            if (closest != assignments[i]) {
+                assignments[i] = closest;
+                changed = true;
+            }
+
+            final int clusterOffset = closest * dimensions;
+            partialCounts[closest]++;
+            for (int d = 0; d < dimensions; d++) {
+                partialSums[clusterOffset + d] += coordinates[pointOffset + d];
+            }
+        }
+
+        return changed;
+    }
+
+    // Squared distances order the centroids the same way as distances, without the square roots
+    private int getClosestCentroidToPoint(final int pointOffset) {
+        int closestCentroid = UNASSIGNED;
+        double closestDistance = Double.MAX_VALUE;
+
+        for (int c = 0, centroidOffset = 0; c < k; c++, centroidOffset += dimensions) {
+            double currentDistance = 0;
+            for (int d = 0; d < dimensions; d++) {
+                final double delta = coordinates[pointOffset + d] - centroids[centroidOffset + d];
+                currentDistance += delta * delta;
+            }
+            if (currentDistance < closestDistance) {
+                closestDistance = currentDistance;
+                closestCentroid = c;
+            }
+        }
+
+        return closestCentroid;
+    }
+
+    // Hamerly's test: the point keeps its centroid if the upper bound on the distance to it is not above the lower
+    // bound on the distance to any other centroid, or half the distance from its centroid to the closest other one.
+    // Only when both the loose and the tightened upper bound fail are all centroids compared.
+    private int getClosestCentroidWithBounds(final int chunk, final int point, final int pointOffset) {
+        int closestCentroid = assignments[point];
+
+        if (boundsValid) {
+            upperBounds[point] += shifts[closestCentroid];
+            lowerBounds[point] -= closestCentroid == farthestMoved ? secondLargestShift : largestShift;
+
+            final double bound = Math.max(halfGaps[closestCentroid], lowerBounds[point]);
+            if (upperBounds[point] <= bound) {
+                return closestCentroid;
+            }
+
+            upperBounds[point] = distanceBetweenOffsets(pointOffset, closestCentroid * dimensions);
+            chunkDistanceComputations[chunk]++;
+            if (upperBounds[point] <= bound) {
+                return closestCentroid;
+            }
+        }
+
+        double closestDistance = Double.MAX_VALUE;
+        double secondClosestDistance = Double.MAX_VALUE;
+
+        for (int c = 0, centroidOffset = 0; c < k; c++, centroidOffset += dimensions) {
+            final double currentDistance = distanceBetweenOffsets(pointOffset, centroidOffset);
+            if (currentDistance < closestDistance) {
+                secondClosestDistance = closestDistance;
+                closestDistance = currentDistance;
+                closestCentroid = c;
+            } else if (currentDistance < secondClosestDistance) {
+                secondClosestDistance = currentDistance;
+            }
+        }
+        chunkDistanceComputations[chunk] += k;
+
+        upperBounds[point] = closestDistance;
+        lowerBounds[point] = secondClosestDistance;
+
+        return closestCentroid;
+    }
+
+    private void computeHalfGaps() {
+        Arrays.fill(halfGaps, Double.POSITIVE_INFINITY);
+
+        for (int c = 0; c < k; c++) {
+            for (int other = c + 1; other < k; other++) {
+                final double halfGap = centroidDistance(c, other) / 2;
+                halfGaps[c] = Math.min(halfGaps[c], halfGap);
+                halfGaps[other] = Math.min(halfGaps[other], halfGap);
+            }
+        }
+
+        distanceComputations += (long) k * (k - 1) / 2;
+    }
+
+    private void updateCentroids() {
+        Arrays.fill(sums, 0.0);
+        Arrays.fill(counts, 0);
+
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            for (int j = 0; j < sums.length; j++) {
+                sums[j] += chunkSums[chunk][j];
+            }
+            for (int c = 0; c < k; c++) {
+                counts[c] += chunkCounts[chunk][c];
+            }
+        }
+
+        for (int c = 0; c < k; c++) {
+            // A cluster without points keeps its centroid
+            if (counts[c] == 0) {
+                continue;
+            }
+            double shift = 0;
+            for (int d = 0; d < dimensions; d++) {
+                final double centroid = sums[c * dimensions + d] / counts[c];
+                final double delta = centroid - centroids[c * dimensions + d];
+                shift += delta * delta;
+                centroids[c * dimensions + d] = centroid;
+            }
+
+            if (algorithm == Algorithm.HAMERLY) {
+                recordShift(c, Math.sqrt(shift));
+            }
+        }
+    }
+
+    private void recordShift(final int cluster, final double shift) {
+        shifts[cluster] = shift;
+        distanceComputations++;
+
+        if (shift > largestShift) {
+            secondLargestShift = largestShift;
+            largestShift = shift;
+            farthestMoved = cluster;
+        } else if (shift > secondLargestShift) {
+            secondLargestShift = shift;
+        }
+    }
+
+    private double distanceBetweenOffsets(final int pointOffset, final int centroidOffset) {
+        double sum = 0;
+
+        for (int d = 0; d < dimensions; d++) {
+            final double delta = coordinates[pointOffset + d] - centroids[centroidOffset + d];
+            sum += delta * delta;
+        }
+
+        return Math.sqrt(sum);
+    }
+
+    private double centroidDistance(final int cluster, final int other) {
+        double sum = 0;
+
+        for (int d = 0; d < dimensions; d++) {
+            final double delta = centroids[cluster * dimensions + d] - centroids[other * dimensions + d];
+            sum += delta * delta;
+        }
+
+        return Math.sqrt(sum);
+    }
+
+    // Assigns a range of chunks, split in halves until a single chunk is left
+    private final class ChunkTask extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(final int from, final int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (to - from == 1) {
+                return assignChunk(from);
+            }
+
+            final int middle = (from + to) >>> 1;
+            final ChunkTask left = new ChunkTask(from, middle);
+            final ChunkTask right = new ChunkTask(middle, to);
+            invokeAll(left, right);
+
+            return left.join() | right.join();
+        }
+    }
+
+    private static int[] unassigned(final int pointCount) {
+        final int[] assignments = new int[pointCount];
+        Arrays.fill(assignments, UNASSIGNED);
+        return assignments;
+    }
+}
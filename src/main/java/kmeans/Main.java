@@ -0,0 +1,84 @@
+package kmeans;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+// Clusters a file too large for memory: "Main FILE K" reads a CSV file, "--binary=D" reads little-endian doubles with
+// D dimensions instead and "-" as the file reads CSV from the standard input. "--batch-size=B" and "--epochs=E" set up
+// the mini-batches, "--streaming" makes a single pass updating the centroids point by point. The first K points are
+// the initial centroids. The standard input cannot be rewound, so it is read in a single epoch.
+public class Main {
+
+    private static final String USAGE = "Usage: Main FILE K [--binary=D] [--batch-size=B] [--epochs=E] [--streaming]";
+
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        final String file = args[0];
+        final int k = Integer.parseInt(args[1]);
+        int binaryDimensions = 0;
+        int batchSize = 1024;
+        int epochs = 1;
+        boolean streaming = false;
+
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--binary=")) {
+                binaryDimensions = Integer.parseInt(args[i].substring("--binary=".length()));
+            } else if (args[i].startsWith("--batch-size=")) {
+                batchSize = Integer.parseInt(args[i].substring("--batch-size=".length()));
+            } else if (args[i].startsWith("--epochs=")) {
+                epochs = Integer.parseInt(args[i].substring("--epochs=".length()));
+            } else if (args[i].equals("--streaming")) {
+                streaming = true;
+            }
+        }
+        if (file.equals("-") && epochs > 1 && !streaming) {
+            System.out.println("The standard input can only be read in one epoch");
+            System.out.println(USAGE);
+            return;
+        }
+
+        try (final PointSource source = file.equals("-")
+                ? new CsvPointSource(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : binaryDimensions > 0
+                        ? new BinaryPointSource(Paths.get(file), binaryDimensions)
+                        : new CsvPointSource(Paths.get(file))) {
+            final int dimensions = source.getDimensions();
+            final double[] centroids = new double[k * dimensions];
+            if (source.read(centroids, k) < k) {
+                System.out.println("Fewer than " + k + " points");
+                return;
+            }
+
+            final MiniBatchKMeans kMeans = new MiniBatchKMeans(centroids, dimensions, batchSize);
+            final long start = System.currentTimeMillis();
+            // The initial centroids were consumed from the source and count as their clusters' first points, so the
+            // source is never rewound before the first epoch
+            for (int c = 0; c < k; c++) {
+                kMeans.add(centroids, c * dimensions);
+            }
+            if (streaming) {
+                kMeans.stream(source);
+            } else {
+                kMeans.fit(source, epochs);
+            }
+            final long stop = System.currentTimeMillis();
+
+            for (int c = 0; c < k; c++) {
+                final StringBuilder sb = new StringBuilder("Centroid ").append(c).append(": (");
+                for (int d = 0; d < dimensions; d++) {
+                    sb.append(d > 0 ? ", " : "").append(kMeans.getCentroid(c, d));
+                }
+                System.out.println(sb.append("), ").append(kMeans.getCount(c)).append(" points"));
+            }
+            System.out.println(kMeans.getPointsSeen() + " points in " + (stop - start) / 1000.0 + "s.");
+        } catch (final IOException e) {
+            System.out.println("Error while clustering: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package kmeans;
+
+import java.io.IOException;
+
+// K-means for datasets larger than memory. Only the centroids, a count per centroid and one batch are held. Every
+// point moves its closest centroid towards itself by a per-cluster learning rate of 1 / (points the cluster has seen),
+// which makes each centroid the running mean of its points.
+public class MiniBatchKMeans {
+
+    private final int dimensions;
+    private final int k;
+    private final int batchSize;
+    private final double[] centroids;
+    private final long[] counts;
+    // Buffers reused by every batch
+    private final double[] batch;
+    private final int[] batchAssignments;
+    private long pointsSeen;
+
+    public MiniBatchKMeans(final double[] centroids, final int dimensions, final int batchSize) {
+        if (dimensions < 1 || centroids.length == 0 || centroids.length % dimensions != 0) {
+            throw new IllegalArgumentException("Centroids do not match " + dimensions + " dimensions");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.dimensions = dimensions;
+        this.k = centroids.length / dimensions;
+        this.batchSize = batchSize;
+        this.centroids = centroids.clone();
+        this.counts = new long[k];
+        this.batch = new double[batchSize * dimensions];
+        this.batchAssignments = new int[batchSize];
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public double getCentroid(final int cluster, final int dimension) {
+        return centroids[cluster * dimensions + dimension];
+    }
+
+    public long getCount(final int cluster) {
+        return counts[cluster];
+    }
+
+    public long getPointsSeen() {
+        return pointsSeen;
+    }
+
+    // Mini-batch k-means: reads the source batch by batch, rewinding it for every further epoch, and returns the
+    // number of batches
+    public long fit(final PointSource source, final int epochs) throws IOException {
+        checkDimensions(source);
+        long batches = 0;
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            if (epoch > 0) {
+                source.rewind();
+            }
+
+            int count;
+            while ((count = source.read(batch, batchSize)) > 0) {
+                update(batch, count);
+                batches++;
+            }
+        }
+
+        return batches;
+    }
+
+    // One pass over a possibly unbounded source, every point updating its centroid as soon as it is read. Returns the
+    // number of points.
+    public long stream(final PointSource source) throws IOException {
+        checkDimensions(source);
+        long points = 0;
+
+        int count;
+        while ((count = source.read(batch, batchSize)) > 0) {
+            for (int i = 0; i < count; i++) {
+                add(batch, i * dimensions);
+            }
+            points += count;
+        }
+
+        return points;
+    }
+
+    // All points of the batch are assigned to the centroids as they were before the batch, then the centroids move
+    public void update(final double[] points, final int count) {
+        if (count > batchSize) {
+            throw new IllegalArgumentException("Batch of " + count + " points exceeds the batch size " + batchSize);
+        }
+        for (int i = 0; i < count; i++) {
+            batchAssignments[i] = getClosestCentroid(points, i * dimensions);
+        }
+
+        for (int i = 0; i < count; i++) {
+            moveCentroid(batchAssignments[i], points, i * dimensions);
+        }
+    }
+
+    public void add(final double[] points, final int offset) {
+        moveCentroid(getClosestCentroid(points, offset), points, offset);
+    }
+
+    public int getClosestCentroid(final double[] points, final int offset) {
+        int closestCentroid = 0;
+        double closestDistance = Double.MAX_VALUE;
+
+        for (int c = 0, centroidOffset = 0; c < k; c++, centroidOffset += dimensions) {
+            double currentDistance = 0;
+            for (int d = 0; d < dimensions; d++) {
+                final double delta = points[offset + d] - centroids[centroidOffset + d];
+                currentDistance += delta * delta;
+            }
+            if (currentDistance < closestDistance) {
+                closestDistance = currentDistance;
+                closestCentroid = c;
+            }
+        }
+
+        return closestCentroid;
+    }
+
+    private void moveCentroid(final int cluster, final double[] points, final int offset) {
+        final double learningRate = 1.0 / ++counts[cluster];
+        final int centroidOffset = cluster * dimensions;
+
+        for (int d = 0; d < dimensions; d++) {
+            centroids[centroidOffset + d] += learningRate * (points[offset + d] - centroids[centroidOffset + d]);
+        }
+        pointsSeen++;
+    }
+
+    private void checkDimensions(final PointSource source) {
+        if (source.getDimensions() != dimensions) {
+            throw new IllegalArgumentException("Source has " + source.getDimensions() + " dimensions, expected " + dimensions);
+        }
+    }
+}
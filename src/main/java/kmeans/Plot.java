@@ -1,102 +1,56 @@
 package kmeans;
 
 import java.awt.Color;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Random;
 
 public class Plot {
 
+    private static final int DIMENSIONS = 2;
+    private static final Random R = new Random();
+
     final int k;
     final double min;
     final double max;
     final Map<Integer, Color> colors;
-    final Set<Cluster> clusters;
+    final KMeans kMeans;
 
-    public Plot(final int k, final double min, final double max) {
+    public Plot(final int k, final double min, final double max, final int pointsPerCluster) {
         this.k = k;
         this.min = min;
         this.max = max;
         colors = generateColors();
-        clusters = generateClusters(k);
+        kMeans = generateKMeans(k, pointsPerCluster);
     }
 
     // Method for testing purposes
     public void printClusters() {
-        for (final Cluster c : clusters) {
-            System.out.println(c);
-        }
-    }
-
-    public Cluster getClusterWithCentroid(final Point centroid) {
-        for (final Cluster c : clusters) {
-            if (c.getCentroid().equals(centroid)) {
-                return c;
+        for (int c = 0; c < k; c++) {
+            final StringBuilder sb = new StringBuilder();
+            sb.append("Centroid: ").append(pointToString(kMeans.getCentroid(c, 0), kMeans.getCentroid(c, 1))).append("\n");
+
+            sb.append("Points: \n");
+            for (int i = 0; i < kMeans.getPointCount(); i++) {
+                if (kMeans.getAssignment(i) == c) {
+                    sb.append(pointToString(kMeans.getCoordinate(i, 0), kMeans.getCoordinate(i, 1))).append("\n");
+                }
             }
-        }
-
-        return null;
-    }
-
-    public Set<Point> getCentroids() {
-        final Set<Point> centroids = new LinkedHashSet<>();
-
-        for (final Cluster cluster : clusters) {
-            centroids.add(cluster.getCentroid());
-        }
-
-        return centroids;
-    }
-
-    public Set<Cluster> getClusters() {
-        return clusters;
-    }
-
-    public boolean reevaluatePoints() {
-        final Map<Point, Point> migratingPoints = findMigratingPoints();
 
-        if (migratingPoints.size() == 0) {
-            return false;
+            System.out.println(sb);
         }
-
-        migratePoints(migratingPoints);
-
-        reevaluateCentroids();
-
-        return true;
     }
 
-    private void migratePoints(final Map<Point, Point> migratingPoints) {
-        for (final Entry<Point, Point> migratingPoint : migratingPoints.entrySet()) {
-            final Point point = migratingPoint.getKey();
-            final Point oldCentroid = point.getCentroid();
-            final Point newCentroid = migratingPoint.getValue();
-            Point.migrate(point, oldCentroid, newCentroid, this);
-        }
+    public KMeans getKMeans() {
+        return kMeans;
     }
 
-    private Map<Point, Point> findMigratingPoints() {
-        final Map<Point, Point> migratingPoints = new LinkedHashMap<>();
-
-        for (final Cluster cluster : clusters) {
-            for (final Point point : cluster.getPoints()) {
-                final Point closestCentroid = getClosestCentroidToPoint(point);
-                if (!closestCentroid.equals(cluster.getCentroid())) {
-                    migratingPoints.put(point, closestCentroid);
-                }
-            }
-        }
-
-        return migratingPoints;
+    public Color getColor(final int cluster) {
+        return colors.get(cluster % colors.size());
     }
 
-    private void reevaluateCentroids() {
-        for (final Cluster cluster : clusters) {
-            cluster.reevaluateCentroid();
-        }
+    public boolean reevaluatePoints() {
+        return kMeans.iterate();
     }
 
     private Map<Integer, Color> generateColors() {
@@ -126,44 +80,30 @@ public class Plot {
         return colorMap;
     }
 
-    private Set<Point> generateCentroids(final int k) {
-        final Set<Point> centroids = new LinkedHashSet<>();
+    // Every cluster starts with a random centroid and pointsPerCluster random points assigned to it
+    private KMeans generateKMeans(final int k, final int pointsPerCluster) {
+        final double[] centroids = generateRandomCoordinates(k);
+        final double[] coordinates = generateRandomCoordinates(k * pointsPerCluster);
+        final int[] assignments = new int[k * pointsPerCluster];
 
-        while (centroids.size() < k) {
-            centroids.add(Point.generateRandomPoint(min, max, null));
+        for (int i = 0; i < assignments.length; i++) {
+            assignments[i] = i / pointsPerCluster;
         }
 
-        return centroids;
+        return new KMeans(coordinates, DIMENSIONS, centroids, assignments);
     }
 
-    private Set<Cluster> generateClusters(final int k) {
-        final Set<Cluster> clusterSet = new HashSet<>();
-        final Set<Point> centroids = generateCentroids(k);
-
-        while (centroids.size() < k) {
-            centroids.add(Point.generateRandomPoint(min, max, null));
-        }
+    private double[] generateRandomCoordinates(final int numPts) {
+        final double[] coordinates = new double[numPts * DIMENSIONS];
 
-        int colorIter = 0;
-        for (final Point centroid : centroids) {
-            clusterSet.add(new Cluster(centroid, colors.get(colorIter++)));
+        for (int i = 0; i < coordinates.length; i++) {
+            coordinates[i] = min + (max - min) * R.nextDouble();
         }
 
-        return clusterSet;
+        return coordinates;
     }
 
-    private Point getClosestCentroidToPoint(final Point point) {
-        Point closestCentroid = null;
-        double closestDistance = Double.MAX_VALUE;
-
-        for (final Point centroid : getCentroids()) {
-            final double currentDistance = Point.distance(point, centroid);
-            if (currentDistance < closestDistance) {
-                closestDistance = currentDistance;
-                closestCentroid = centroid;
-            }
-        }
-
-        return closestCentroid;
+    private static String pointToString(final double x, final double y) {
+        return "(" + x + ", " + y + ")";
     }
 }
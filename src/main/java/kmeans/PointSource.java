@@ -0,0 +1,18 @@
+package kmeans;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Points read in chunks, so datasets larger than memory can be clustered
+public interface PointSource extends Closeable {
+
+    int getDimensions();
+
+    // Reads up to maxPoints points into the buffer, point-major, and returns how many were read, 0 once the source is
+    // exhausted
+    int read(double[] buffer, int maxPoints) throws IOException;
+
+    // Starts again from the first point. Sources which cannot be replayed, like a stream, throw
+    // UnsupportedOperationException.
+    void rewind() throws IOException;
+}
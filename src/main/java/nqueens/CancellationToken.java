@@ -0,0 +1,44 @@
+package nqueens;
+
+/**
+ * Token used for cancelling running searches from another thread. A token created with a parent is also cancelled
+ * when its parent is, but cancelling it leaves the parent untouched.
+ */
+public final class CancellationToken {
+
+    private final CancellationToken parent;
+    private volatile boolean cancelled;
+
+    /**
+     * Default constructor creating a token which is not cancelled
+     */
+    public CancellationToken() {
+        this(null);
+    }
+
+    /**
+     * Constructor creating a token which is cancelled together with the given parent
+     *
+     * @param parent parent token, may be null
+     */
+    public CancellationToken(final CancellationToken parent) {
+        this.parent = parent;
+        this.cancelled = false;
+    }
+
+    /**
+     * Method for cancelling all searches using this token
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Method for checking if this token or any of its parents was cancelled
+     *
+     * @return true if the token was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled || (parent != null && parent.isCancelled());
+    }
+}
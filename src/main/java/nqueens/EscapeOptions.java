@@ -0,0 +1,60 @@
+package nqueens;
+
+/**
+ * Configuration of the strategies used for escaping plateaus during the Min Conflicts repair
+ */
+public final class EscapeOptions {
+
+    public static final EscapeOptions NONE = new EscapeOptions(0, 0.0, false);
+
+    private final int tabuTenure;
+    private final double randomWalkProbability;
+    private final boolean breakout;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param tabuTenure            number of steps a moved column stays tabu, 0 to disable the tabu list
+     * @param randomWalkProbability probability of moving the picked queen to a random row, 0 to disable random walks
+     * @param breakout              flag determining if rows and diagonals should be weighted in local minima
+     */
+    public EscapeOptions(final int tabuTenure, final double randomWalkProbability, final boolean breakout) {
+        if(tabuTenure < 0) {
+            throw new IllegalArgumentException("Tabu tenure can not be negative");
+        }
+        if(randomWalkProbability < 0.0 || randomWalkProbability > 1.0) {
+            throw new IllegalArgumentException("Random walk probability must be between 0 and 1");
+        }
+
+        this.tabuTenure = tabuTenure;
+        this.randomWalkProbability = randomWalkProbability;
+        this.breakout = breakout;
+    }
+
+    /**
+     * Getter for tabuTenure
+     *
+     * @return tabuTenure - number of steps a moved column stays tabu
+     */
+    public int getTabuTenure() {
+        return tabuTenure;
+    }
+
+    /**
+     * Getter for randomWalkProbability
+     *
+     * @return randomWalkProbability - probability of moving the picked queen to a random row
+     */
+    public double getRandomWalkProbability() {
+        return randomWalkProbability;
+    }
+
+    /**
+     * Getter for breakout
+     *
+     * @return breakout - flag determining if rows and diagonals are weighted in local minima
+     */
+    public boolean isBreakout() {
+        return breakout;
+    }
+}
@@ -0,0 +1,73 @@
+package nqueens;
+
+/**
+ * Counters showing how often each escape strategy changed the decisions of the repair and how many restarts it
+ * saved. A restart counts as saved by a strategy when the strategy intervened during an attempt which reached a
+ * solution only after the moves of a plain attempt were used up, so the plain repair would have restarted.
+ */
+public final class EscapeStatistics {
+
+    private final long[] interventions;
+    private final long[] restartsSaved;
+
+    /**
+     * Default constructor with all counters set to zero
+     */
+    public EscapeStatistics() {
+        interventions = new long[EscapeStrategy.values().length];
+        restartsSaved = new long[EscapeStrategy.values().length];
+    }
+
+    /**
+     * Getter for the number of interventions of a strategy
+     *
+     * @param strategy escape strategy
+     * @return number of times the strategy changed a decision of the repair
+     */
+    public long getInterventions(final EscapeStrategy strategy) {
+        return interventions[strategy.ordinal()];
+    }
+
+    /**
+     * Getter for the number of restarts saved by a strategy
+     *
+     * @param strategy escape strategy
+     * @return number of attempts solved past the plain budget in which the strategy intervened
+     */
+    public long getRestartsSaved(final EscapeStrategy strategy) {
+        return restartsSaved[strategy.ordinal()];
+    }
+
+    /**
+     * Method for counting an intervention of a strategy
+     *
+     * @param strategy escape strategy
+     */
+    void addIntervention(final EscapeStrategy strategy) {
+        interventions[strategy.ordinal()]++;
+    }
+
+    /**
+     * Method for counting a restart saved by a strategy
+     *
+     * @param strategy escape strategy
+     */
+    void addRestartSaved(final EscapeStrategy strategy) {
+        restartsSaved[strategy.ordinal()]++;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+
+        for(final EscapeStrategy strategy : EscapeStrategy.values()) {
+            if(sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(strategy).append(": ").append(getInterventions(strategy)).append(" interventions, ")
+                    .append(getRestartsSaved(strategy)).append(" restarts saved");
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package nqueens;
+
+/**
+ * Strategies for escaping plateaus and local minima during the Min Conflicts repair
+ */
+public enum EscapeStrategy {
+    /**
+     * Recently moved columns are not picked again for a number of steps
+     */
+    TABU,
+    /**
+     * The picked queen is sometimes moved to a random row instead of the best one
+     */
+    RANDOM_WALK,
+    /**
+     * Rows and diagonals of queens stuck in a local minimum get heavier, changing which row is the best
+     */
+    BREAKOUT
+}
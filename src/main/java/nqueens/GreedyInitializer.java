@@ -0,0 +1,81 @@
+package nqueens;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Initializer placing the queens column by column, each on a free row with the fewest queens already in its
+ * diagonals. Rows stay a permutation, so the only conflicts left for the repair are the diagonal ones the greedy
+ * placement could not avoid.
+ */
+public final class GreedyInitializer implements Initializer {
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 32;
+
+    private final int maxAttempts;
+
+    /**
+     * Default constructor
+     */
+    public GreedyInitializer() {
+        this(DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructor with parameters
+     *
+     * @param maxAttempts maximum number of free rows sampled for each column before taking the best one seen
+     */
+    public GreedyInitializer(final int maxAttempts) {
+        if(maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required");
+        }
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Method for greedily placing the queens. Free rows are kept in the tail of the queens array, so every column
+     * samples up to maxAttempts of them and stops early at a row without diagonal conflicts. This keeps the whole
+     * placement linear in the size of the board.
+     *
+     * @param queens array to be filled with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param random random number generator used for sampling rows
+     */
+    @Override
+    public void init(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final RandomGenerator random) {
+        final int size = queens.length;
+
+        for(int i = 0; i < size; i++) {
+            queens[i] = i;
+        }
+
+        for(int column = 0; column < size; column++) {
+            int bestIndex = column;
+            int minConflicts = Integer.MAX_VALUE;
+
+            for(int attempt = 0; attempt < maxAttempts; attempt++) {
+                final int index = column + random.nextInt(size - column);
+                final int row = queens[index];
+                final int currentConflicts = queensInDiagonal1.get(column - row + size - 1) + queensInDiagonal2.get(row + column);
+
+                if(currentConflicts < minConflicts) {
+                    minConflicts = currentConflicts;
+                    bestIndex = index;
+                    if(currentConflicts == 0) {
+                        break;
+                    }
+                }
+            }
+
+            final int row = queens[bestIndex];
+            queens[bestIndex] = queens[column];
+            queens[column] = row;
+
+            queensInRow.increment(row);
+            queensInDiagonal1.increment(column - row + size - 1);
+            queensInDiagonal2.increment(row + column);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package nqueens;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Strategy for placing the queens on the board before the Min Conflicts repair starts
+ */
+public interface Initializer {
+
+    /**
+     * Method for placing one queen in every column of the board. The counters are empty when the method is called
+     * and must hold the number of queens in every row and diagonal when it returns.
+     *
+     * @param queens array to be filled with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param random random number generator of the current search
+     */
+    void init(int[] queens, LineCounter queensInRow, LineCounter queensInDiagonal1, LineCounter queensInDiagonal2, RandomGenerator random);
+}
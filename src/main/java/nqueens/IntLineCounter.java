@@ -0,0 +1,45 @@
+package nqueens;
+
+import java.util.Arrays;
+
+/**
+ * Line counter storing every count in an int
+ */
+final class IntLineCounter implements LineCounter {
+
+    private final int[] counts;
+
+    /**
+     * Constructor creating a counter with all counts set to zero
+     *
+     * @param lines number of lines
+     */
+    IntLineCounter(final int lines) {
+        counts = new int[lines];
+    }
+
+    @Override
+    public int get(final int line) {
+        return counts[line];
+    }
+
+    @Override
+    public void increment(final int line) {
+        counts[line]++;
+    }
+
+    @Override
+    public void decrement(final int line) {
+        counts[line]--;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    @Override
+    public int size() {
+        return counts.length;
+    }
+}
@@ -0,0 +1,52 @@
+package nqueens;
+
+/**
+ * Counter of queens in every line (row or diagonal) of the board
+ */
+public interface LineCounter {
+
+    /**
+     * Method for creating a counter for the given number of lines
+     *
+     * @param lines number of lines
+     * @param compact flag determining if counts should be stored in bytes, escalating only the rare large counts
+     * @return new counter with all counts set to zero
+     */
+    static LineCounter create(final int lines, final boolean compact) {
+        return compact ? new ByteLineCounter(lines) : new IntLineCounter(lines);
+    }
+
+    /**
+     * Method for getting the number of queens in a line
+     *
+     * @param line index of the line
+     * @return number of queens in the line
+     */
+    int get(int line);
+
+    /**
+     * Method for adding a queen to a line
+     *
+     * @param line index of the line
+     */
+    void increment(int line);
+
+    /**
+     * Method for removing a queen from a line
+     *
+     * @param line index of the line
+     */
+    void decrement(int line);
+
+    /**
+     * Method for setting all counts to zero
+     */
+    void clear();
+
+    /**
+     * Getter for the number of lines
+     *
+     * @return number of lines
+     */
+    int size();
+}
@@ -1,19 +1,99 @@
 package nqueens;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
  * Entry point class. Starts the Min Conflicts algorithm and tracks how much time it took to complete.
+ * Passing "--track-conflicts" as an argument runs the algorithm with incremental conflict tracking and passing
+ * "--searches=K" runs K independent searches in parallel. Passing "--greedy-init" places the queens greedily instead of
+ * randomly before every restart. "--max-steps=S" and "--time-budget-ms=T" limit the search. Passing
+ * "--compact-counters" stores row and diagonal counts in bytes to save memory on very large boards. Passing
+ * "--output=FILE" writes the solution to a file in the format given by "--format=text|binary" and "--verify" checks
+ * the written file. Passing "--generic-engine" solves the board with the generic constraint satisfaction engine within
+ * the same budgets.
+ * "--tabu=T", "--random-walk=P" and "--breakout" enable the tabu, random walk and breakout plateau escapes.
  */
 public final class Main {
 
     public static void main(String[] args) {
         final Scanner sc = new Scanner(System.in);
+        boolean trackConflicts = false;
+        boolean compactCounters = false;
+        int searches = 1;
+        Initializer initializer = new RandomInitializer();
+        long maxSteps = MinConflictsSolver.UNLIMITED;
+        long timeBudgetMillis = MinConflictsSolver.UNLIMITED;
+        Path output = null;
+        SolutionFormat format = SolutionFormat.TEXT;
+        boolean verify = false;
+        boolean genericEngine = false;
+        int tabuTenure = 0;
+        double randomWalkProbability = 0.0;
+        boolean breakout = false;
+
+        for(final String arg : args) {
+            if(arg.equals("--track-conflicts")) {
+                trackConflicts = true;
+            } else if(arg.equals("--compact-counters")) {
+                compactCounters = true;
+            } else if(arg.startsWith("--searches=")) {
+                searches = Integer.parseInt(arg.substring("--searches=".length()));
+            } else if(arg.equals("--greedy-init")) {
+                initializer = new GreedyInitializer();
+            } else if(arg.startsWith("--max-steps=")) {
+                maxSteps = Long.parseLong(arg.substring("--max-steps=".length()));
+            } else if(arg.startsWith("--time-budget-ms=")) {
+                timeBudgetMillis = Long.parseLong(arg.substring("--time-budget-ms=".length()));
+            } else if(arg.startsWith("--output=")) {
+                output = Paths.get(arg.substring("--output=".length()));
+            } else if(arg.startsWith("--format=")) {
+                format = SolutionFormat.valueOf(arg.substring("--format=".length()).toUpperCase());
+            } else if(arg.equals("--verify")) {
+                verify = true;
+            } else if(arg.equals("--generic-engine")) {
+                genericEngine = true;
+            } else if(arg.startsWith("--tabu=")) {
+                tabuTenure = Integer.parseInt(arg.substring("--tabu=".length()));
+            } else if(arg.startsWith("--random-walk=")) {
+                randomWalkProbability = Double.parseDouble(arg.substring("--random-walk=".length()));
+            } else if(arg.equals("--breakout")) {
+                breakout = true;
+            }
+        }
+
+        final int size = sc.nextInt();
+
+        final EscapeOptions escapeOptions = new EscapeOptions(tabuTenure, randomWalkProbability, breakout);
+        final MinConflictsSolver solver = new MinConflictsSolver(trackConflicts, compactCounters, initializer, maxSteps, timeBudgetMillis, escapeOptions);
+        final long seed = System.nanoTime();
 
         final long start = System.currentTimeMillis();
-        MinConflictsAlgorithm.run(sc.nextInt());
+        final SolverResult result;
+        if(genericEngine) {
+            result = solver.solveWithEngine(size, seed, new CancellationToken());
+        } else if(searches > 1) {
+            result = PortfolioSolver.run(solver, size, searches, seed, new CancellationToken());
+        } else {
+            result = solver.solve(size, seed, new CancellationToken());
+        }
+        System.out.println(result);
+        final int[] queens = result.getQueens();
         final long stop = System.currentTimeMillis();
 
         System.out.println("Found in " + ((double) (stop - start)) / 1000 + "s.");
+
+        if(output != null && queens != null) {
+            try {
+                SolutionWriter.write(queens, output, format);
+                if(verify) {
+                    System.out.println("Verified: " + SolutionVerifier.verify(output, format));
+                }
+            } catch(final IOException e) {
+                System.out.println("Error while writing the solution: " + e.getMessage());
+            }
+        }
     }
 }
@@ -1,13 +1,18 @@
 package nqueens;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import csp.ConflictedVariables;
 
 /**
  * Utility class for running Min Conflicts algorithm including some helper methods.
  */
 public final class MinConflictsAlgorithm {
 
-    private static final Random RANDOM = new Random();
+    private static final String RANDOM_ALGORITHM = "L64X128MixRandom";
+    private static final int NO_CONFLICTS = -1;
+    private static final int MAX_TABU_RETRIES = 8;
 
     /**
      * Private default constructor to prevent instantiating the class
@@ -22,129 +27,452 @@ public final class MinConflictsAlgorithm {
      * @param size size of the board
      */
     public static void run(final int size) {
+        run(size, false);
+    }
+
+    /**
+     * Method for running the Min Conflicts algorithm. When conflicts are tracked, a live set of conflicted columns is
+     * kept up to date after every move, so picking a conflicted column and checking for a solution take amortized
+     * constant time instead of a scan over all columns.
+     *
+     * @param size size of the board
+     * @param trackConflicts flag determining if conflicted columns should be tracked incrementally
+     */
+    public static void run(final int size, final boolean trackConflicts) {
+        run(size, trackConflicts, new RandomInitializer());
+    }
+
+    /**
+     * Method for running the Min Conflicts algorithm starting from positions placed by the given initializer
+     *
+     * @param size size of the board
+     * @param trackConflicts flag determining if conflicted columns should be tracked incrementally
+     * @param initializer strategy for placing the queens before every restart
+     */
+    public static void run(final int size, final boolean trackConflicts, final Initializer initializer) {
+        run(size, trackConflicts, initializer, System.nanoTime());
+    }
+
+    /**
+     * Method for running the Min Conflicts algorithm with a reproducible sequence of random numbers
+     *
+     * @param size size of the board
+     * @param trackConflicts flag determining if conflicted columns should be tracked incrementally
+     * @param initializer strategy for placing the queens before every restart
+     * @param seed seed of the random number generator
+     */
+    public static void run(final int size, final boolean trackConflicts, final Initializer initializer, final long seed) {
+        final int[] queens = new MinConflictsSolver(trackConflicts, initializer).solve(size, seed, new CancellationToken()).getQueens();
+
+//        printBoard(queens);
+    }
+
+    /**
+     * Method for creating the random number generator used by a search. The generator is splittable, so independent
+     * searches can derive their own generators from it instead of sharing one.
+     *
+     * @param seed seed of the random number generator
+     * @return new splittable random number generator
+     */
+    public static RandomGenerator.SplittableGenerator newRandom(final long seed) {
+        return RandomGeneratorFactory.<RandomGenerator.SplittableGenerator>of(RANDOM_ALGORITHM).create(seed);
+    }
+
+    /**
+     * Method for solving the board, restarting from a new initial position whenever the repair runs out of moves.
+     * Every call uses only the given random number generator, so independent searches can run on separate threads.
+     *
+     * @param size size of the board
+     * @param trackConflicts flag determining if conflicted columns should be tracked incrementally
+     * @param compactCounters flag determining if row and diagonal counts should be stored in bytes
+     * @param initializer strategy for placing the queens before every restart
+     * @param escapeOptions strategies used for escaping plateaus before giving up on an attempt
+     * @param random random number generator used by this search
+     * @param progress statistics and budgets of this search
+     * @return array with all queens' rows or null if the search was cancelled or ran out of budget
+     */
+    static int[] solve(final int size, final boolean trackConflicts, final boolean compactCounters, final Initializer initializer, final EscapeOptions escapeOptions, final RandomGenerator random, final SearchProgress progress) {
         final int[] queens = new int[size];
+        final LineCounter queensInRow = LineCounter.create(size, compactCounters);
+        final LineCounter queensInDiagonal1 = LineCounter.create(size * 2 - 1, compactCounters);
+        final LineCounter queensInDiagonal2 = LineCounter.create(size * 2 - 1, compactCounters);
+        final PlateauEscape escape = new PlateauEscape(escapeOptions, progress.getEscapeStatistics(), size, size);
         boolean foundAnswer = false;
-        final int maxIterations = size;
+        final int maxIterations = escape.getStepBudget();
+
+        for(int attempt = 0; !foundAnswer; attempt++) {
+            if(!progress.canContinue()) {
+                return null;
+            }
+            if(attempt > 0) {
+                progress.addRestart();
+            }
+
+            final long initStart = System.nanoTime();
+            queensInRow.clear();
+            queensInDiagonal1.clear();
+            queensInDiagonal2.clear();
+            initializer.init(queens, queensInRow, queensInDiagonal1, queensInDiagonal2, random);
+            final long repairStart = System.nanoTime();
+            escape.startAttempt();
+            foundAnswer = trackConflicts
+                    ? repairTracked(queens, queensInRow, queensInDiagonal1, queensInDiagonal2, maxIterations, escape, random, progress)
+                    : repair(queens, queensInRow, queensInDiagonal1, queensInDiagonal2, maxIterations, escape, random, progress);
+            escape.finishAttempt(foundAnswer);
+            final long repairStop = System.nanoTime();
+
+            progress.addInitTime(repairStart - initStart);
+            progress.addRepairTime(repairStop - repairStart);
+        }
+
+        return queens;
+    }
+
+    /**
+     * Method for repairing a board by repeatedly moving the queen with most conflicts to the row with least conflicts
+     *
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param maxIterations maximum number of moves before giving up
+     * @param escape state of the plateau escape strategies
+     * @param random random number generator used for breaking ties
+     * @param progress statistics and budgets of the search
+     * @return true if a board without conflicts was reached
+     */
+    private static boolean repair(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final int maxIterations, final PlateauEscape escape, final RandomGenerator random, final SearchProgress progress) {
+        int row, column;
+
+        for(int i = 0; i < maxIterations && progress.nextStep(); i++) {
+            column = getColumnWithMaxConflicts(queens, queensInRow, queensInDiagonal1, queensInDiagonal2, escape, random);
+            row = chooseRow(column, queens, queensInRow, queensInDiagonal1, queensInDiagonal2, escape, random);
+
+            final int oldRow = queens[column];
+            final int oldCol = column;
+            final int newRow = row;
+            final int newCol = column;
+
+            queens[column] = row;
+
+            updateQueensInRow(queensInRow, oldRow, newRow);
+            updateQueensInDiagonal1(queensInDiagonal1, queens.length, oldRow, oldCol, newRow, newCol);
+            updateQueensInDiagonal2(queensInDiagonal2, oldRow, oldCol, newRow, newCol);
+            escape.moved(column);
+
+            if(!hasConflicts(queens, queensInRow, queensInDiagonal1, queensInDiagonal2)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
 
-        while(!foundAnswer) {
-            randomInit(queens, size);
-            int[] queensInRow = getQueensInRow(queens);
-            int[] queensInDiagonal1 = getQueensInDiagonal1(queens);
-            int[] queensInDiagonal2 = getQueensInDiagonal2(queens);
-            int row, column;
+    /**
+     * Method for repairing a board by repeatedly moving a random conflicted queen to the row with least conflicts.
+     * Besides the number of queens, every row and diagonal keeps the XOR of the columns of its queens, which is the
+     * column of the only queen when there is exactly one. That way a queen which becomes conflicted after a move can
+     * be added to the set of conflicted columns without scanning the board. Queens which stop being conflicted are
+     * removed lazily when picked.
+     *
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param maxIterations maximum number of moves before giving up
+     * @param escape state of the plateau escape strategies
+     * @param random random number generator used for picking columns and breaking ties
+     * @param progress statistics and budgets of the search
+     * @return true if a board without conflicts was reached
+     */
+    private static boolean repairTracked(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final int maxIterations, final PlateauEscape escape, final RandomGenerator random, final SearchProgress progress) {
+        final int[] columnXorInRow = getColumnXorInRow(queens);
+        final int[] columnXorInDiagonal1 = getColumnXorInDiagonal1(queens);
+        final int[] columnXorInDiagonal2 = getColumnXorInDiagonal2(queens);
+        final ConflictedVariables conflicted = getConflictedColumns(queens, queensInRow, queensInDiagonal1, queensInDiagonal2);
+
+        for(int i = 0; i < maxIterations && progress.nextStep(); i++) {
+            final int column = pickConflictedColumn(conflicted, queens, queensInRow, queensInDiagonal1, queensInDiagonal2, escape, random);
+            if(column == NO_CONFLICTS) {
+                return true;
+            }
 
-            for(int i = 0; i < maxIterations; i++) {
-                column = getColumnWithMaxConflicts(queens, queensInRow, queensInDiagonal1, queensInDiagonal2);
-                row = getRowWithMinConflicts(column, queens, queensInRow, queensInDiagonal1, queensInDiagonal2);
+            final int row = chooseRow(column, queens, queensInRow, queensInDiagonal1, queensInDiagonal2, escape, random);
+            final int oldRow = queens[column];
 
-                final int oldRow = queens[column];
-                final int oldCol = column;
-                final int newRow = row;
-                final int newCol = column;
+            queens[column] = row;
 
-                queens[column] = row;
+            updateQueensInRow(queensInRow, columnXorInRow, conflicted, column, oldRow, row);
+            updateQueensInDiagonal1(queensInDiagonal1, columnXorInDiagonal1, conflicted, queens.length, oldRow, column, row, column);
+            updateQueensInDiagonal2(queensInDiagonal2, columnXorInDiagonal2, conflicted, oldRow, column, row, column);
+            escape.moved(column);
+        }
 
-                updateQueensInRow(queensInRow, oldRow, newRow);
-                updateQueensInDiagonal1(queensInDiagonal1, queens.length, oldRow, oldCol, newRow, newCol);
-                updateQueensInDiagonal2(queensInDiagonal2, oldRow, oldCol, newRow, newCol);
+        return !hasTrackedConflicts(conflicted, queens, queensInRow, queensInDiagonal1, queensInDiagonal2);
+    }
 
-                if(!hasConflicts(queens, queensInRow, queensInDiagonal1, queensInDiagonal2)) {
-                    foundAnswer = true;
-                    break;
+    /**
+     * Method for choosing the row a picked queen is moved to. With random walks enabled the row is sometimes random.
+     * Otherwise it is the row with least conflicts, weighted when breakout is enabled, in which case staying in the
+     * same row makes the conflicted lines through the queen heavier.
+     *
+     * @param column column of the picked queen
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param escape state of the plateau escape strategies
+     * @param random random number generator used for walks and breaking ties
+     * @return row the queen is moved to
+     */
+    private static int chooseRow(final int column, final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final PlateauEscape escape, final RandomGenerator random) {
+        if(escape.shouldWalk(random)) {
+            escape.intervene(EscapeStrategy.RANDOM_WALK);
+            return random.nextInt(queens.length);
+        }
+        if(!escape.hasWeights()) {
+            return getRowWithMinConflicts(column, queens, queensInRow, queensInDiagonal1, queensInDiagonal2, random);
+        }
+
+        final int row = getRowWithMinWeightedConflicts(column, queens, queensInRow, queensInDiagonal1, queensInDiagonal2, escape, random);
+        if(row == queens[column]) {
+            escape.increaseWeights(row, column, queensInRow, queensInDiagonal1, queensInDiagonal2);
+        }
+
+        return row;
+    }
+
+    /**
+     * Method for picking a random column whose queen is in conflict. Columns in the set which are no longer in
+     * conflict are removed along the way.
+     *
+     * @param conflicted set of columns which may be in conflict
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param escape state of the plateau escape strategies
+     * @param random random number generator used for picking the column
+     * @return conflicted column or NO_CONFLICTS if there are no conflicts on the board
+     */
+    private static int pickConflictedColumn(final ConflictedVariables conflicted, final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final PlateauEscape escape, final RandomGenerator random) {
+        int tabuRetries = 0;
+
+        while(!conflicted.isEmpty()) {
+            final int column = conflicted.get(random.nextInt(conflicted.size()));
+            if(getConflicts(queens[column], column, queensInRow, queensInDiagonal1, queensInDiagonal2) == 0) {
+                conflicted.remove(column);
+            } else if(escape.isTabu(column) && tabuRetries < MAX_TABU_RETRIES) {
+                tabuRetries++;
+            } else {
+                if(tabuRetries > 0 && !escape.isTabu(column)) {
+                    escape.intervene(EscapeStrategy.TABU);
                 }
+                return column;
             }
         }
 
-//        printBoard(queens);
+        return NO_CONFLICTS;
+    }
+
+    /**
+     * Method for checking if any column in the set is still in conflict. Columns which are no longer in conflict are
+     * removed along the way.
+     *
+     * @param conflicted set of columns which may be in conflict
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @return true if any conflict is found
+     */
+    private static boolean hasTrackedConflicts(final ConflictedVariables conflicted, final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2) {
+        while(!conflicted.isEmpty()) {
+            final int column = conflicted.get(conflicted.size() - 1);
+            if(getConflicts(queens[column], column, queensInRow, queensInDiagonal1, queensInDiagonal2) > 0) {
+                return true;
+            }
+            conflicted.remove(column);
+        }
+
+        return false;
+    }
+
+    /**
+     * Method for generating the set of all columns whose queens are in conflict
+     *
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @return set of conflicted columns
+     */
+    private static ConflictedVariables getConflictedColumns(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2) {
+        final ConflictedVariables conflicted = new ConflictedVariables(queens.length);
+
+        for(int i = 0; i < queens.length; i++) {
+            if(getConflicts(queens[i], i, queensInRow, queensInDiagonal1, queensInDiagonal2) > 0) {
+                conflicted.add(i);
+            }
+        }
+
+        return conflicted;
     }
 
     /**
      * Method for updating the queens in each secondary diagonal after a queen is moved
      *
-     * @param queensInDiagonal2 array containing number of queens in secondary diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
      * @param oldRow row of the queen before the move
      * @param oldCol column of the queen before the move
      * @param newRow row of the queen after the move
      * @param newCol column of the queen after the move
      */
-    private static void updateQueensInDiagonal2(final int[] queensInDiagonal2, final int oldRow, final int oldCol, final int newRow, final int newCol) {
-        queensInDiagonal2[oldRow + oldCol]--;
-        queensInDiagonal2[newRow + newCol]++;
+    private static void updateQueensInDiagonal2(final LineCounter queensInDiagonal2, final int oldRow, final int oldCol, final int newRow, final int newCol) {
+        queensInDiagonal2.decrement(oldRow + oldCol);
+        queensInDiagonal2.increment(newRow + newCol);
     }
 
     /**
      * Method for updating the queens in each main diagonal after a queen is moved
      *
-     * @param queensInDiagonal1 array containing number of queens in main diagonals
+     * @param queensInDiagonal1 counter of queens in main diagonals
      * @param size size of the board
      * @param oldRow row of the queen before the move
      * @param oldCol column of the queen before the move
      * @param newRow row of the queen after the move
      * @param newCol column of the queen after the move
      */
-    private static void updateQueensInDiagonal1(final int[] queensInDiagonal1, final int size, final int oldRow, final int oldCol, final int newRow, final int newCol) {
-        queensInDiagonal1[oldCol - oldRow + size - 1]--;
-        queensInDiagonal1[newCol - newRow + size - 1]++;
+    private static void updateQueensInDiagonal1(final LineCounter queensInDiagonal1, final int size, final int oldRow, final int oldCol, final int newRow, final int newCol) {
+        queensInDiagonal1.decrement(oldCol - oldRow + size - 1);
+        queensInDiagonal1.increment(newCol - newRow + size - 1);
     }
 
     /**
      * Method for updating the number of queens in each row after a queen is moved
      *
-     * @param queensInRow array containing number of queens in each row
+     * @param queensInRow counter of queens in each row
+     * @param oldRow row of the queen before the move
+     * @param newRow row of the queen after the move
+     */
+    private static void updateQueensInRow(final LineCounter queensInRow, final int oldRow, final int newRow) {
+        queensInRow.decrement(oldRow);
+        queensInRow.increment(newRow);
+    }
+
+    /**
+     * Method for updating the queens in each secondary diagonal after a queen is moved, keeping track of the queens
+     * which become conflicted
+     *
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param columnXorInDiagonal2 array containing the XOR of the queens' columns in secondary diagonals
+     * @param conflicted set of columns which may be in conflict
+     * @param oldRow row of the queen before the move
+     * @param oldCol column of the queen before the move
+     * @param newRow row of the queen after the move
+     * @param newCol column of the queen after the move
+     */
+    private static void updateQueensInDiagonal2(final LineCounter queensInDiagonal2, final int[] columnXorInDiagonal2, final ConflictedVariables conflicted, final int oldRow, final int oldCol, final int newRow, final int newCol) {
+        QueenLines.leave(queensInDiagonal2, columnXorInDiagonal2, oldRow + oldCol, oldCol);
+        QueenLines.enter(queensInDiagonal2, columnXorInDiagonal2, newRow + newCol, newCol, conflicted);
+    }
+
+    /**
+     * Method for updating the queens in each main diagonal after a queen is moved, keeping track of the queens which
+     * become conflicted
+     *
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param columnXorInDiagonal1 array containing the XOR of the queens' columns in main diagonals
+     * @param conflicted set of columns which may be in conflict
+     * @param size size of the board
+     * @param oldRow row of the queen before the move
+     * @param oldCol column of the queen before the move
+     * @param newRow row of the queen after the move
+     * @param newCol column of the queen after the move
+     */
+    private static void updateQueensInDiagonal1(final LineCounter queensInDiagonal1, final int[] columnXorInDiagonal1, final ConflictedVariables conflicted, final int size, final int oldRow, final int oldCol, final int newRow, final int newCol) {
+        QueenLines.leave(queensInDiagonal1, columnXorInDiagonal1, oldCol - oldRow + size - 1, oldCol);
+        QueenLines.enter(queensInDiagonal1, columnXorInDiagonal1, newCol - newRow + size - 1, newCol, conflicted);
+    }
+
+    /**
+     * Method for updating the number of queens in each row after a queen is moved, keeping track of the queens which
+     * become conflicted
+     *
+     * @param queensInRow counter of queens in each row
+     * @param columnXorInRow array containing the XOR of the queens' columns in each row
+     * @param conflicted set of columns which may be in conflict
+     * @param column column of the moved queen
      * @param oldRow row of the queen before the move
      * @param newRow row of the queen after the move
      */
-    private static void updateQueensInRow(final int[] queensInRow, final int oldRow, final int newRow) {
-        queensInRow[oldRow]--;
-        queensInRow[newRow]++;
+    private static void updateQueensInRow(final LineCounter queensInRow, final int[] columnXorInRow, final ConflictedVariables conflicted, final int column, final int oldRow, final int newRow) {
+        QueenLines.leave(queensInRow, columnXorInRow, oldRow, column);
+        QueenLines.enter(queensInRow, columnXorInRow, newRow, column, conflicted);
     }
 
     /**
-     * Method for generating an array containing number of queens in secondary diagonals
+     * Method for generating an array containing the XOR of the queens' columns in each secondary diagonal
      *
      * @param queens array with all queens' rows
-     * @return array containing number of queens in secondary diagonals
+     * @return array containing the XOR of the queens' columns in secondary diagonals
      */
-    private static int[] getQueensInDiagonal2(final int[] queens) {
-        final int[] queensInDiagonal2 = new int[queens.length * 2 - 1];
+    private static int[] getColumnXorInDiagonal2(final int[] queens) {
+        final int[] columnXorInDiagonal2 = new int[queens.length * 2 - 1];
 
         for(int i = 0; i < queens.length; i++) {
-            queensInDiagonal2[i + queens[i]]++;
+            columnXorInDiagonal2[i + queens[i]] ^= i;
         }
 
-        return queensInDiagonal2;
+        return columnXorInDiagonal2;
     }
 
     /**
-     * Method for generating an array containing number of queens in main diagonals
+     * Method for generating an array containing the XOR of the queens' columns in each main diagonal
      *
      * @param queens array with all queens' rows
-     * @return array containing number of queens in main diagonals
+     * @return array containing the XOR of the queens' columns in main diagonals
      */
-    private static int[] getQueensInDiagonal1(final int[] queens) {
-        final int[] queensInDiagonal1 = new int[queens.length * 2 - 1];
+    private static int[] getColumnXorInDiagonal1(final int[] queens) {
+        final int[] columnXorInDiagonal1 = new int[queens.length * 2 - 1];
 
         for(int i = 0; i < queens.length; i++) {
-            queensInDiagonal1[i - queens[i] + queens.length - 1]++;
+            columnXorInDiagonal1[i - queens[i] + queens.length - 1] ^= i;
         }
 
-        return queensInDiagonal1;
+        return columnXorInDiagonal1;
     }
 
     /**
-     * Method for generating an array containing number of queens in each row
+     * Method for generating an array containing the XOR of the queens' columns in each row
      *
      * @param queens array with all queens' rows
-     * @return array containing number of queens in each row
+     * @return array containing the XOR of the queens' columns in each row
      */
-    private static int[] getQueensInRow(final int[] queens) {
-        final int[] queensInRow = new int[queens.length];
+    private static int[] getColumnXorInRow(final int[] queens) {
+        final int[] columnXorInRow = new int[queens.length];
 
-        for(int queen : queens) {
-            queensInRow[queen]++;
+        for(int i = 0; i < queens.length; i++) {
+            columnXorInRow[queens[i]] ^= i;
         }
 
-        return queensInRow;
+        return columnXorInRow;
+    }
+
+    /**
+     * Method for counting the queens in every row and diagonal of a board
+     *
+     * @param queens array with all queens' rows
+     * @param queensInRow empty counter of queens in each row
+     * @param queensInDiagonal1 empty counter of queens in main diagonals
+     * @param queensInDiagonal2 empty counter of queens in secondary diagonals
+     */
+    static void countQueens(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2) {
+        for(int i = 0; i < queens.length; i++) {
+            queensInRow.increment(queens[i]);
+            queensInDiagonal1.increment(i - queens[i] + queens.length - 1);
+            queensInDiagonal2.increment(i + queens[i]);
+        }
     }
 
     /**
@@ -178,38 +506,55 @@ public final class MinConflictsAlgorithm {
      *
      * @param row row of the queen
      * @param col column of the queen
-     * @param queensInRow array containing number of queens in each row
-     * @param queensInDiagonal1 array containing number of queens in main diagonals
-     * @param queensInDiagonal2 array containing number of queens in secondary diagonals
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
      * @return number of conflicts the queen has
      */
-    private static int getConflicts(final int row, final int col, final int[] queensInRow, final int[] queensInDiagonal1, final int[] queensInDiagonal2) {
-        return queensInRow[row] + queensInDiagonal1[col - row + queensInRow.length - 1] + queensInDiagonal2[row + col] - 3;
+    private static int getConflicts(final int row, final int col, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2) {
+        return queensInRow.get(row) + queensInDiagonal1.get(col - row + queensInRow.size() - 1) + queensInDiagonal2.get(row + col) - 3;
     }
 
     /**
      * Method for finding the column of the queen with most conflicts
      *
      * @param queens array with all queens' rows
-     * @param queensInRow array containing number of queens in each row
-     * @param queensInDiagonal1 array containing number of queens in main diagonals
-     * @param queensInDiagonal2 array containing number of queens in secondary diagonals
-     * @return column with most conflicts
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param escape state of the plateau escape strategies
+     * @param random random number generator used for breaking ties
+     * @return column with most conflicts among the columns which are not tabu, or the tabu column with most conflicts
+     * if no other column is in conflict
      */
-    private static int getColumnWithMaxConflicts(final int[] queens, final int[] queensInRow, final int[] queensInDiagonal1, final int[] queensInDiagonal2) {
+    private static int getColumnWithMaxConflicts(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final PlateauEscape escape, final RandomGenerator random) {
         int maxConflicts = 0;
         int columnWithMaxConflicts = 0;
+        int maxTabuConflicts = 0;
+        int tabuColumnWithMaxConflicts = 0;
 
         for(int i = 0; i < queens.length; i++) {
             final int currentConflicts = getConflicts(queens[i], i, queensInRow, queensInDiagonal1, queensInDiagonal2);
-            if(currentConflicts > maxConflicts) {
+            if(escape.isTabu(i)) {
+                if(currentConflicts > maxTabuConflicts) {
+                    maxTabuConflicts = currentConflicts;
+                    tabuColumnWithMaxConflicts = i;
+                }
+            } else if(currentConflicts > maxConflicts) {
                 maxConflicts = currentConflicts;
                 columnWithMaxConflicts = i;
-            } else if(currentConflicts == maxConflicts && RANDOM.nextInt() % 16 == 3) {
+            } else if(currentConflicts == maxConflicts && random.nextInt() % 16 == 3) {
                 columnWithMaxConflicts = i;
             }
         }
 
+        if(maxConflicts == 0 && maxTabuConflicts > 0) {
+            return tabuColumnWithMaxConflicts;
+        }
+        if(maxTabuConflicts > maxConflicts) {
+            escape.intervene(EscapeStrategy.TABU);
+        }
+
         return columnWithMaxConflicts;
     }
 
@@ -218,12 +563,13 @@ public final class MinConflictsAlgorithm {
      *
      * @param column selected column in which the method determines the best row
      * @param queens array with all queens' rows
-     * @param queensInRow array containing number of queens in each row
-     * @param queensInDiagonal1 array containing number of queens in main diagonals
-     * @param queensInDiagonal2 array containing number of queens in secondary diagonals
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param random random number generator used for breaking ties
      * @return row with least conflicts
      */
-    private static int getRowWithMinConflicts(final int column, final int[] queens, final int[] queensInRow, final int[] queensInDiagonal1, final int[] queensInDiagonal2) {
+    private static int getRowWithMinConflicts(final int column, final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final RandomGenerator random) {
         int minConflicts = getConflicts(queens[column], column, queensInRow, queensInDiagonal1, queensInDiagonal2);
         int rowWithMinConflicts = queens[column];
 
@@ -237,7 +583,7 @@ public final class MinConflictsAlgorithm {
             if(currentConflicts < minConflicts) {
                 minConflicts = currentConflicts;
                 rowWithMinConflicts = i;
-            } else if(currentConflicts == minConflicts && RANDOM.nextInt() % 16 == 3) {
+            } else if(currentConflicts == minConflicts && random.nextInt() % 16 == 3) {
                 rowWithMinConflicts = i;
             }
         }
@@ -246,40 +592,60 @@ public final class MinConflictsAlgorithm {
     }
 
     /**
-     * Method for checking if there are any conflicts on the board. Used to determine if goal is reached.
+     * Method for determining which row in a given column has the least weighted conflicts, where every conflict in a
+     * row or diagonal counts as much as the breakout weight of that line.
      *
+     * @param column selected column in which the method determines the best row
      * @param queens array with all queens' rows
-     * @param queensInRow array containing number of queens in each row
-     * @param queensInDiagonal1 array containing number of queens in main diagonals
-     * @param queensInDiagonal2 array containing number of queens in secondary diagonals
-     * @return true if any conflict is found
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param escape state of the plateau escape strategies holding the weights
+     * @param random random number generator used for breaking ties
+     * @return row with least weighted conflicts
      */
-    private static boolean hasConflicts(final int[] queens, final int[] queensInRow, final int[] queensInDiagonal1, final int[] queensInDiagonal2) {
-        for(int i = 0; i < queens.length; i++) {
-            if(getConflicts(queens[i], i, queensInRow, queensInDiagonal1, queensInDiagonal2) > 0) {
-                return true;
+    private static int getRowWithMinWeightedConflicts(final int column, final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final PlateauEscape escape, final RandomGenerator random) {
+        final int size = queens.length;
+        final int currentRow = queens[column];
+        int minConflicts = escape.getWeightedConflicts(currentRow, column, queensInRow.get(currentRow) - 1,
+                queensInDiagonal1.get(column - currentRow + size - 1) - 1, queensInDiagonal2.get(currentRow + column) - 1);
+        int rowWithMinConflicts = currentRow;
+
+        for(int i = 0; i < size; i++) {
+            if(currentRow == i) {
+                continue;
+            }
+
+            final int currentConflicts = escape.getWeightedConflicts(i, column, queensInRow.get(i),
+                    queensInDiagonal1.get(column - i + size - 1), queensInDiagonal2.get(i + column));
+
+            if(currentConflicts < minConflicts) {
+                minConflicts = currentConflicts;
+                rowWithMinConflicts = i;
+            } else if(currentConflicts == minConflicts && random.nextInt() % 16 == 3) {
+                rowWithMinConflicts = i;
             }
         }
 
-        return false;
+        return rowWithMinConflicts;
     }
 
     /**
-     * Method for randomly initializing the queens array with scrambled rows [0, ..., size] to start with minimum conflicts
+     * Method for checking if there are any conflicts on the board. Used to determine if goal is reached.
      *
-     * @param queens the array before being scrambled
-     * @param size size of the board
+     * @param queens array with all queens' rows
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @return true if any conflict is found
      */
-    private static void randomInit(final int[] queens, final int size) {
-        for(int i = 0; i < size; i++) {
-            queens[i] = i;
+    private static boolean hasConflicts(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2) {
+        for(int i = 0; i < queens.length; i++) {
+            if(getConflicts(queens[i], i, queensInRow, queensInDiagonal1, queensInDiagonal2) > 0) {
+                return true;
+            }
         }
 
-        for (int i = 0; i < size; i++) {
-            final int j = RANDOM.nextInt(size);
-            final int swap = queens[i];
-            queens[i] = queens[j];
-            queens[j] = swap;
-        }
+        return false;
     }
 }
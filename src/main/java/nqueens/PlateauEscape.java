@@ -0,0 +1,180 @@
+package nqueens;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * State of the escape strategies of a single search: the tabu list of recently moved columns, the random walk
+ * probability and the breakout weights of every row and diagonal. The state is reset before every attempt. With any
+ * strategy enabled an attempt may make EXTENDED_ATTEMPT_FACTOR times the moves of a plain attempt, and a restart is
+ * saved when such an attempt is solved after the plain attempt would already have given up.
+ */
+final class PlateauEscape {
+
+    private static final int EXTENDED_ATTEMPT_FACTOR = 4;
+
+    private final EscapeOptions options;
+    private final EscapeStatistics statistics;
+    private final int size;
+    private final int plainBudget;
+    private final int[] tabuUntil;
+    private final int[] weightInRow;
+    private final int[] weightInDiagonal1;
+    private final int[] weightInDiagonal2;
+    private final boolean[] intervened;
+    private int step;
+
+    /**
+     * Constructor with parameters. Arrays of disabled strategies are not allocated.
+     *
+     * @param options     configuration of the escape strategies
+     * @param statistics  counters the interventions are recorded in
+     * @param size        size of the board
+     * @param plainBudget number of moves after which an attempt without escape strategies gives up
+     */
+    PlateauEscape(final EscapeOptions options, final EscapeStatistics statistics, final int size, final int plainBudget) {
+        this.options = options;
+        this.statistics = statistics;
+        this.size = size;
+        this.plainBudget = plainBudget;
+        tabuUntil = options.getTabuTenure() > 0 ? new int[size] : null;
+        weightInRow = options.isBreakout() ? new int[size] : null;
+        weightInDiagonal1 = options.isBreakout() ? new int[size * 2 - 1] : null;
+        weightInDiagonal2 = options.isBreakout() ? new int[size * 2 - 1] : null;
+        intervened = new boolean[EscapeStrategy.values().length];
+    }
+
+    /**
+     * Method for getting the number of moves an attempt may make before giving up
+     *
+     * @return plain budget, extended if any escape strategy is enabled
+     */
+    int getStepBudget() {
+        final boolean enabled = options.getTabuTenure() > 0 || options.getRandomWalkProbability() > 0.0 || options.isBreakout();
+        return enabled ? (int) Math.min((long) plainBudget * EXTENDED_ATTEMPT_FACTOR, Integer.MAX_VALUE) : plainBudget;
+    }
+
+    /**
+     * Method for resetting the tabu list and the weights before a new attempt
+     */
+    void startAttempt() {
+        step = 0;
+        Arrays.fill(intervened, false);
+
+        if(tabuUntil != null) {
+            Arrays.fill(tabuUntil, 0);
+        }
+        if(hasWeights()) {
+            Arrays.fill(weightInRow, 1);
+            Arrays.fill(weightInDiagonal1, 1);
+            Arrays.fill(weightInDiagonal2, 1);
+        }
+    }
+
+    /**
+     * Method for crediting the strategies which intervened in an attempt with a saved restart if it was solved only
+     * after the plain budget ran out
+     *
+     * @param solved flag determining if the attempt found a solution
+     */
+    void finishAttempt(final boolean solved) {
+        if(!solved || step <= plainBudget) {
+            return;
+        }
+
+        for(final EscapeStrategy strategy : EscapeStrategy.values()) {
+            if(intervened[strategy.ordinal()]) {
+                statistics.addRestartSaved(strategy);
+            }
+        }
+    }
+
+    /**
+     * Method for checking if a column was moved too recently to be picked
+     *
+     * @param column column of the queen
+     * @return true if the column is tabu
+     */
+    boolean isTabu(final int column) {
+        return tabuUntil != null && tabuUntil[column] > step;
+    }
+
+    /**
+     * Method for recording a move of a queen, making its column tabu
+     *
+     * @param column column of the moved queen
+     */
+    void moved(final int column) {
+        step++;
+        if(tabuUntil != null) {
+            tabuUntil[column] = step + options.getTabuTenure();
+        }
+    }
+
+    /**
+     * Method for deciding if the picked queen should be moved to a random row
+     *
+     * @param random random number generator of the search
+     * @return true if a random walk should be made
+     */
+    boolean shouldWalk(final RandomGenerator random) {
+        return options.getRandomWalkProbability() > 0.0 && random.nextDouble() < options.getRandomWalkProbability();
+    }
+
+    /**
+     * Method for checking if rows and diagonals are weighted
+     *
+     * @return true if breakout is enabled
+     */
+    boolean hasWeights() {
+        return weightInRow != null;
+    }
+
+    /**
+     * Method for calculating the weighted conflicts of a queen in a given row
+     *
+     * @param row row of the queen
+     * @param col column of the queen
+     * @param othersInRow number of other queens in the row
+     * @param othersInDiagonal1 number of other queens in the main diagonal
+     * @param othersInDiagonal2 number of other queens in the secondary diagonal
+     * @return sum of the conflicts in every line multiplied by the weight of the line
+     */
+    int getWeightedConflicts(final int row, final int col, final int othersInRow, final int othersInDiagonal1, final int othersInDiagonal2) {
+        return weightInRow[row] * othersInRow
+                + weightInDiagonal1[col - row + size - 1] * othersInDiagonal1
+                + weightInDiagonal2[row + col] * othersInDiagonal2;
+    }
+
+    /**
+     * Method for increasing the weight of every conflicted line through a queen stuck in a local minimum
+     *
+     * @param row row of the queen
+     * @param col column of the queen
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     */
+    void increaseWeights(final int row, final int col, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2) {
+        if(queensInRow.get(row) > 1) {
+            weightInRow[row]++;
+        }
+        if(queensInDiagonal1.get(col - row + size - 1) > 1) {
+            weightInDiagonal1[col - row + size - 1]++;
+        }
+        if(queensInDiagonal2.get(row + col) > 1) {
+            weightInDiagonal2[row + col]++;
+        }
+        intervene(EscapeStrategy.BREAKOUT);
+    }
+
+    /**
+     * Method for recording that a strategy changed a decision of the repair
+     *
+     * @param strategy escape strategy
+     */
+    void intervene(final EscapeStrategy strategy) {
+        intervened[strategy.ordinal()] = true;
+        statistics.addIntervention(strategy);
+    }
+}
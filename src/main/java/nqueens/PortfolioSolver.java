@@ -0,0 +1,93 @@
+package nqueens;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Utility class for running several independent Min Conflicts searches in parallel. The first search which finds a
+ * solution cancels all the others.
+ */
+public final class PortfolioSolver {
+
+    /**
+     * Private default constructor to prevent instantiating the class
+     */
+    private PortfolioSolver() {
+        // Utility class
+    }
+
+    /**
+     * Method for running a portfolio of Min Conflicts searches on a ForkJoinPool. Every search gets its own random
+     * number generator split from one seeded generator, so runs are reproducible per search.
+     *
+     * @param size size of the board
+     * @param searches number of independent searches
+     * @param trackConflicts flag determining if conflicted columns should be tracked incrementally
+     * @param initializer strategy for placing the queens before every restart
+     * @param seed seed of the generator all searches' generators are split from
+     * @return result of the fastest search
+     */
+    public static SolverResult run(final int size, final int searches, final boolean trackConflicts, final Initializer initializer, final long seed) {
+        return run(new MinConflictsSolver(trackConflicts, initializer), size, searches, seed, new CancellationToken());
+    }
+
+    /**
+     * Method for running a portfolio of searches with the given solver. Cancelling the given token stops all
+     * searches, while a successful search only cancels its siblings.
+     *
+     * @param solver solver used by every search
+     * @param size size of the board
+     * @param searches number of independent searches
+     * @param seed seed of the generator all searches' generators are split from
+     * @param token token for cancelling the whole portfolio
+     * @return result of the search which found a solution or, if none did, the result of the first search
+     */
+    public static SolverResult run(final MinConflictsSolver solver, final int size, final int searches, final long seed, final CancellationToken token) {
+        if(searches < 1) {
+            throw new IllegalArgumentException("At least one search is required");
+        }
+
+        final CancellationToken portfolioToken = new CancellationToken(token);
+        final RandomGenerator.SplittableGenerator rootRandom = MinConflictsAlgorithm.newRandom(seed);
+        final List<Callable<SolverResult>> tasks = new ArrayList<>(searches);
+
+        for(int i = 0; i < searches; i++) {
+            final RandomGenerator random = rootRandom.split();
+            tasks.add(() -> {
+                final SolverResult result = solver.solve(size, random, portfolioToken);
+                if(result.isSolved()) {
+                    portfolioToken.cancel();
+                }
+                return result;
+            });
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(Math.min(searches, Runtime.getRuntime().availableProcessors()));
+        try {
+            SolverResult firstResult = null;
+            for(final Future<SolverResult> future : pool.invokeAll(tasks)) {
+                final SolverResult result = future.get();
+                if(result.isSolved()) {
+                    return result;
+                }
+                if(firstResult == null) {
+                    firstResult = result;
+                }
+            }
+            return firstResult;
+        } catch(final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a solution", e);
+        } catch(final ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        } finally {
+            portfolioToken.cancel();
+            pool.shutdown();
+        }
+    }
+}
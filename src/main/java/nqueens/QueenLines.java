@@ -0,0 +1,53 @@
+package nqueens;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Updates of a single row or diagonal shared by the specialized algorithm and the model of the generic engine. Every
+ * line keeps the number of its queens and the XOR of their columns, which is the column of the only queen when there
+ * is exactly one.
+ */
+final class QueenLines {
+
+    /**
+     * Private default constructor to prevent instantiating the class
+     */
+    private QueenLines() {
+        // Utility class
+    }
+
+    /**
+     * Method for updating a single row or diagonal after a queen leaves it
+     *
+     * @param queensInLine counter of queens in each line
+     * @param columnXorInLine array containing the XOR of the queens' columns in each line
+     * @param line index of the line
+     * @param column column of the moved queen
+     */
+    static void leave(final LineCounter queensInLine, final int[] columnXorInLine, final int line, final int column) {
+        queensInLine.decrement(line);
+        columnXorInLine[line] ^= column;
+    }
+
+    /**
+     * Method for updating a single row or diagonal after a queen enters it. If the line was not empty, the moved queen
+     * is in conflict and, if there was exactly one queen there, so is that queen.
+     *
+     * @param queensInLine counter of queens in each line
+     * @param columnXorInLine array containing the XOR of the queens' columns in each line
+     * @param line index of the line
+     * @param column column of the moved queen
+     * @param conflicted consumer of the columns which may have become conflicted
+     */
+    static void enter(final LineCounter queensInLine, final int[] columnXorInLine, final int line, final int column, final IntConsumer conflicted) {
+        if(queensInLine.get(line) == 1) {
+            conflicted.accept(columnXorInLine[line]);
+        }
+        if(queensInLine.get(line) > 0) {
+            conflicted.accept(column);
+        }
+
+        queensInLine.increment(line);
+        columnXorInLine[line] ^= column;
+    }
+}
@@ -0,0 +1,119 @@
+package nqueens;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+import csp.ConflictModel;
+
+/**
+ * N-Queens as a model for the generic Min Conflicts engine. Every column is a variable whose value is the row of its
+ * queen. Constraints are counted per row and diagonal with the same counters the specialized algorithm uses, and
+ * every line also keeps the XOR of its queens' columns, so a queen which becomes conflicted is reported in constant
+ * time.
+ */
+public final class QueensModel implements ConflictModel {
+
+    private final int size;
+    private final Initializer initializer;
+    private final int[] queens;
+    private final LineCounter queensInRow;
+    private final LineCounter queensInDiagonal1;
+    private final LineCounter queensInDiagonal2;
+    private final int[] columnXorInRow;
+    private final int[] columnXorInDiagonal1;
+    private final int[] columnXorInDiagonal2;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param size            size of the board
+     * @param compactCounters flag determining if row and diagonal counts should be stored in bytes
+     * @param initializer     strategy for placing the queens before every restart
+     */
+    public QueensModel(final int size, final boolean compactCounters, final Initializer initializer) {
+        if(size < 1) {
+            throw new IllegalArgumentException("Board size must be positive");
+        }
+
+        this.size = size;
+        this.initializer = initializer;
+        queens = new int[size];
+        queensInRow = LineCounter.create(size, compactCounters);
+        queensInDiagonal1 = LineCounter.create(size * 2 - 1, compactCounters);
+        queensInDiagonal2 = LineCounter.create(size * 2 - 1, compactCounters);
+        columnXorInRow = new int[size];
+        columnXorInDiagonal1 = new int[size * 2 - 1];
+        columnXorInDiagonal2 = new int[size * 2 - 1];
+    }
+
+    /**
+     * Getter for queens
+     *
+     * @return queens - array with all queens' rows
+     */
+    public int[] getQueens() {
+        return queens;
+    }
+
+    @Override
+    public int getVariables() {
+        return size;
+    }
+
+    @Override
+    public int getDomainSize(final int variable) {
+        return size;
+    }
+
+    @Override
+    public int getValue(final int variable) {
+        return queens[variable];
+    }
+
+    @Override
+    public void initialize(final RandomGenerator random) {
+        queensInRow.clear();
+        queensInDiagonal1.clear();
+        queensInDiagonal2.clear();
+        initializer.init(queens, queensInRow, queensInDiagonal1, queensInDiagonal2, random);
+
+        Arrays.fill(columnXorInRow, 0);
+        Arrays.fill(columnXorInDiagonal1, 0);
+        Arrays.fill(columnXorInDiagonal2, 0);
+        for(int i = 0; i < size; i++) {
+            columnXorInRow[queens[i]] ^= i;
+            columnXorInDiagonal1[i - queens[i] + size - 1] ^= i;
+            columnXorInDiagonal2[i + queens[i]] ^= i;
+        }
+    }
+
+    @Override
+    public int getConflicts(final int variable) {
+        final int row = queens[variable];
+        return queensInRow.get(row) + queensInDiagonal1.get(variable - row + size - 1) + queensInDiagonal2.get(row + variable) - 3;
+    }
+
+    @Override
+    public int getConflictsIfAssigned(final int variable, final int value) {
+        if(value == queens[variable]) {
+            return getConflicts(variable);
+        }
+
+        return queensInRow.get(value) + queensInDiagonal1.get(variable - value + size - 1) + queensInDiagonal2.get(value + variable);
+    }
+
+    @Override
+    public void assign(final int variable, final int value, final IntConsumer conflicted) {
+        final int oldRow = queens[variable];
+        queens[variable] = value;
+
+        QueenLines.leave(queensInRow, columnXorInRow, oldRow, variable);
+        QueenLines.leave(queensInDiagonal1, columnXorInDiagonal1, variable - oldRow + size - 1, variable);
+        QueenLines.leave(queensInDiagonal2, columnXorInDiagonal2, oldRow + variable, variable);
+
+        QueenLines.enter(queensInRow, columnXorInRow, value, variable, conflicted);
+        QueenLines.enter(queensInDiagonal1, columnXorInDiagonal1, variable - value + size - 1, variable, conflicted);
+        QueenLines.enter(queensInDiagonal2, columnXorInDiagonal2, value + variable, variable, conflicted);
+    }
+}
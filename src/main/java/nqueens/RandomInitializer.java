@@ -0,0 +1,37 @@
+package nqueens;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Initializer placing the queens on a random permutation of the rows, so there are no conflicts in rows
+ */
+public final class RandomInitializer implements Initializer {
+
+    /**
+     * Method for randomly initializing the queens array with scrambled rows [0, ..., size] to start with minimum
+     * conflicts
+     *
+     * @param queens the array before being scrambled
+     * @param queensInRow counter of queens in each row
+     * @param queensInDiagonal1 counter of queens in main diagonals
+     * @param queensInDiagonal2 counter of queens in secondary diagonals
+     * @param random random number generator used for scrambling
+     */
+    @Override
+    public void init(final int[] queens, final LineCounter queensInRow, final LineCounter queensInDiagonal1, final LineCounter queensInDiagonal2, final RandomGenerator random) {
+        final int size = queens.length;
+
+        for(int i = 0; i < size; i++) {
+            queens[i] = i;
+        }
+
+        for (int i = 0; i < size; i++) {
+            final int j = random.nextInt(size);
+            final int swap = queens[i];
+            queens[i] = queens[j];
+            queens[j] = swap;
+        }
+
+        MinConflictsAlgorithm.countQueens(queens, queensInRow, queensInDiagonal1, queensInDiagonal2);
+    }
+}
@@ -0,0 +1,129 @@
+package nqueens;
+
+import csp.SearchBudget;
+
+/**
+ * Class keeping the statistics of a single search and deciding when the search has to stop because of its budgets
+ * or its cancellation token
+ */
+final class SearchProgress implements SearchBudget {
+
+    private final CancellationToken token;
+    private final long maxSteps;
+    private final long deadline;
+    private final EscapeStatistics escapeStatistics;
+    private SolverResult.Status stopReason;
+    private long restarts;
+    private long repairSteps;
+    private long initNanos;
+    private long repairNanos;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param token cancellation token of the search
+     * @param maxSteps maximum number of repair steps
+     * @param deadline value of System.nanoTime() after which the search stops
+     */
+    SearchProgress(final CancellationToken token, final long maxSteps, final long deadline) {
+        this.token = token;
+        this.maxSteps = maxSteps;
+        this.deadline = deadline;
+        this.escapeStatistics = new EscapeStatistics();
+        this.stopReason = null;
+    }
+
+    /**
+     * Getter for escapeStatistics
+     *
+     * @return escapeStatistics - counters of the plateau escape strategies of the search
+     */
+    EscapeStatistics getEscapeStatistics() {
+        return escapeStatistics;
+    }
+
+    /**
+     * Method for checking if the search may start another restart
+     *
+     * @return true if the search is neither cancelled nor out of budget
+     */
+    @Override
+    public boolean canContinue() {
+        if(stopReason != null) {
+            return false;
+        }
+        if(token.isCancelled()) {
+            stopReason = SolverResult.Status.CANCELLED;
+        } else if(repairSteps >= maxSteps) {
+            stopReason = SolverResult.Status.STEP_BUDGET_EXHAUSTED;
+        } else if(System.nanoTime() - deadline >= 0) {
+            stopReason = SolverResult.Status.TIME_BUDGET_EXHAUSTED;
+        }
+
+        return stopReason == null;
+    }
+
+    /**
+     * Method for counting a repair step if the search may make another one. Reading the clock on every step is cheap
+     * compared to the step itself, which scans all rows of the moved queen's column.
+     *
+     * @return true if the step is allowed
+     */
+    @Override
+    public boolean nextStep() {
+        if(repairSteps >= maxSteps) {
+            stopReason = SolverResult.Status.STEP_BUDGET_EXHAUSTED;
+            return false;
+        }
+        if(token.isCancelled()) {
+            stopReason = SolverResult.Status.CANCELLED;
+            return false;
+        }
+        if(System.nanoTime() - deadline >= 0) {
+            stopReason = SolverResult.Status.TIME_BUDGET_EXHAUSTED;
+            return false;
+        }
+
+        repairSteps++;
+        return true;
+    }
+
+    /**
+     * Method for counting a restart of the search
+     */
+    @Override
+    public void addRestart() {
+        restarts++;
+    }
+
+    /**
+     * Method for adding time spent placing the queens
+     *
+     * @param nanos time in nanoseconds
+     */
+    @Override
+    public void addInitTime(final long nanos) {
+        initNanos += nanos;
+    }
+
+    /**
+     * Method for adding time spent repairing the board
+     *
+     * @param nanos time in nanoseconds
+     */
+    @Override
+    public void addRepairTime(final long nanos) {
+        repairNanos += nanos;
+    }
+
+    /**
+     * Method for generating the result of the search
+     *
+     * @param queens array with all queens' rows or null if the search stopped before finding a solution
+     * @return result of the search
+     */
+    SolverResult toResult(final int[] queens) {
+        final SolverResult.Status status = queens != null ? SolverResult.Status.SOLVED : stopReason;
+        return new SolverResult(status, queens, restarts, repairSteps, initNanos, repairNanos, escapeStatistics);
+    }
+}
@@ -0,0 +1,16 @@
+package nqueens;
+
+/**
+ * Format of a stored N-Queens solution. Both formats start with the size of the board followed by the row of the
+ * queen in every column, in column order.
+ */
+public enum SolutionFormat {
+    /**
+     * Big-endian 32-bit integers
+     */
+    BINARY,
+    /**
+     * Decimal numbers, one per line
+     */
+    TEXT
+}
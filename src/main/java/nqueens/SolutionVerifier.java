@@ -0,0 +1,175 @@
+package nqueens;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for checking a stored N-Queens solution in linear time. The file is streamed and every queen is
+ * counted in its row and diagonals the same way the Min Conflicts algorithm counts them, so the whole solution never
+ * has to be loaded in memory.
+ */
+public final class SolutionVerifier {
+
+    private static final int MAX_SIZE = Integer.MAX_VALUE / 2;
+
+    /**
+     * Private default constructor to prevent instantiating the class
+     */
+    private SolutionVerifier() {
+        // Utility class
+    }
+
+    /**
+     * Method for checking if a file holds a valid solution
+     *
+     * @param path   file with the solution
+     * @param format format of the file
+     * @return true if the file describes a board where no two queens attack each other
+     * @throws IOException if the file can not be read
+     */
+    public static boolean verify(final Path path, final SolutionFormat format) throws IOException {
+        try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(SolutionWriter.BUFFER_SIZE);
+            buffer.flip();
+
+            final QueenReader reader = format == SolutionFormat.BINARY
+                    ? new BinaryQueenReader(channel, buffer)
+                    : new TextQueenReader(channel, buffer);
+
+            final int size = reader.next();
+            if(size <= 0 || size > MAX_SIZE) {
+                return false;
+            }
+            if(format == SolutionFormat.BINARY && channel.size() != (long) Integer.BYTES * (size + 1)) {
+                return false;
+            }
+
+            final LineCounter queensInRow = LineCounter.create(size, true);
+            final LineCounter queensInDiagonal1 = LineCounter.create(size * 2 - 1, true);
+            final LineCounter queensInDiagonal2 = LineCounter.create(size * 2 - 1, true);
+
+            for(int column = 0; column < size; column++) {
+                final int row = reader.next();
+                if(row < 0 || row >= size) {
+                    return false;
+                }
+
+                final int diagonal1 = column - row + size - 1;
+                final int diagonal2 = column + row;
+                if(queensInRow.get(row) > 0 || queensInDiagonal1.get(diagonal1) > 0
+                        || queensInDiagonal2.get(diagonal2) > 0) {
+                    return false;
+                }
+
+                queensInRow.increment(row);
+                queensInDiagonal1.increment(diagonal1);
+                queensInDiagonal2.increment(diagonal2);
+            }
+
+            return reader.next() == QueenReader.END;
+        }
+    }
+
+    /**
+     * Reader of the numbers stored in a solution file
+     */
+    private abstract static class QueenReader {
+
+        static final int END = -1;
+        static final int MALFORMED = -2;
+
+        final FileChannel channel;
+        final ByteBuffer buffer;
+
+        QueenReader(final FileChannel channel, final ByteBuffer buffer) {
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Method for reading the next number
+         *
+         * @return next non-negative number, END at the end of the file or MALFORMED if the file is not valid
+         * @throws IOException if the file can not be read
+         */
+        abstract int next() throws IOException;
+
+        /**
+         * Method for making sure at least the given number of bytes can be read from the buffer
+         *
+         * @param bytes number of bytes needed
+         * @return true if enough bytes are available
+         * @throws IOException if the file can not be read
+         */
+        boolean fill(final int bytes) throws IOException {
+            if(buffer.remaining() >= bytes) {
+                return true;
+            }
+
+            buffer.compact();
+            while(buffer.position() < bytes && channel.read(buffer) >= 0) {
+                // keep reading until enough bytes are available or the file ends
+            }
+            buffer.flip();
+
+            return buffer.remaining() >= bytes;
+        }
+    }
+
+    /**
+     * Reader of big-endian 32-bit integers
+     */
+    private static final class BinaryQueenReader extends QueenReader {
+
+        BinaryQueenReader(final FileChannel channel, final ByteBuffer buffer) {
+            super(channel, buffer);
+        }
+
+        @Override
+        int next() throws IOException {
+            if(!fill(Integer.BYTES)) {
+                return buffer.hasRemaining() ? MALFORMED : END;
+            }
+
+            final int value = buffer.getInt();
+            return value >= 0 ? value : MALFORMED;
+        }
+    }
+
+    /**
+     * Reader of decimal numbers separated by new lines
+     */
+    private static final class TextQueenReader extends QueenReader {
+
+        TextQueenReader(final FileChannel channel, final ByteBuffer buffer) {
+            super(channel, buffer);
+        }
+
+        @Override
+        int next() throws IOException {
+            long value = 0;
+            boolean hasDigits = false;
+
+            while(fill(1)) {
+                final byte current = buffer.get();
+
+                if(current >= '0' && current <= '9') {
+                    value = value * 10 + (current - '0');
+                    if(value > Integer.MAX_VALUE) {
+                        return MALFORMED;
+                    }
+                    hasDigits = true;
+                } else if(current == '\n') {
+                    return hasDigits ? (int) value : MALFORMED;
+                } else if(current != '\r') {
+                    return MALFORMED;
+                }
+            }
+
+            return hasDigits ? (int) value : END;
+        }
+    }
+}
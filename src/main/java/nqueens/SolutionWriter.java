@@ -0,0 +1,124 @@
+package nqueens;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Utility class for streaming N-Queens solutions to a file through a buffered channel. Unlike printing the whole
+ * board, the output is linear in the size of the board.
+ */
+public final class SolutionWriter {
+
+    static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_LENGTH = 12;
+
+    /**
+     * Private default constructor to prevent instantiating the class
+     */
+    private SolutionWriter() {
+        // Utility class
+    }
+
+    /**
+     * Method for writing a solution to a file, replacing the file if it exists
+     *
+     * @param queens array with all queens' rows
+     * @param path   file the solution is written to
+     * @param format format of the file
+     * @throws IOException if the file can not be written
+     */
+    public static void write(final int[] queens, final Path path, final SolutionFormat format) throws IOException {
+        try(final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+            if(format == SolutionFormat.BINARY) {
+                writeBinary(queens, channel, buffer);
+            } else {
+                writeText(queens, channel, buffer);
+            }
+
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Method for writing the size of the board and all queens' rows as 32-bit integers
+     *
+     * @param queens  array with all queens' rows
+     * @param channel channel of the file
+     * @param buffer  buffer collecting the bytes before they are written
+     * @throws IOException if the file can not be written
+     */
+    private static void writeBinary(final int[] queens, final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.putInt(queens.length);
+
+        for(final int queen : queens) {
+            if(buffer.remaining() < Integer.BYTES) {
+                flush(channel, buffer);
+            }
+            buffer.putInt(queen);
+        }
+    }
+
+    /**
+     * Method for writing the size of the board and all queens' rows as decimal numbers, one per line. Digits are
+     * encoded directly into the buffer, so no strings are created.
+     *
+     * @param queens  array with all queens' rows
+     * @param channel channel of the file
+     * @param buffer  buffer collecting the bytes before they are written
+     * @throws IOException if the file can not be written
+     */
+    private static void writeText(final int[] queens, final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        final byte[] digits = new byte[MAX_LINE_LENGTH];
+
+        putLine(queens.length, buffer, digits);
+        for(final int queen : queens) {
+            if(buffer.remaining() < MAX_LINE_LENGTH) {
+                flush(channel, buffer);
+            }
+            putLine(queen, buffer, digits);
+        }
+    }
+
+    /**
+     * Method for putting a non-negative number followed by a new line into the buffer
+     *
+     * @param value  number to be put
+     * @param buffer buffer with at least MAX_LINE_LENGTH bytes remaining
+     * @param digits scratch array for the digits
+     */
+    private static void putLine(final int value, final ByteBuffer buffer, final byte[] digits) {
+        int remaining = value;
+        int length = 0;
+
+        do {
+            digits[length++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while(remaining > 0);
+
+        while(length > 0) {
+            buffer.put(digits[--length]);
+        }
+        buffer.put((byte) '\n');
+    }
+
+    /**
+     * Method for writing all bytes collected in the buffer to the channel and clearing the buffer
+     *
+     * @param channel channel of the file
+     * @param buffer  buffer collecting the bytes before they are written
+     * @throws IOException if the file can not be written
+     */
+    private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
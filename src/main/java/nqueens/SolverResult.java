@@ -0,0 +1,122 @@
+package nqueens;
+
+/**
+ * Class representing the outcome of a Min Conflicts search together with its statistics
+ */
+public final class SolverResult {
+
+    /**
+     * Reason the search stopped
+     */
+    public enum Status {
+        SOLVED, CANCELLED, STEP_BUDGET_EXHAUSTED, TIME_BUDGET_EXHAUSTED
+    }
+
+    private final Status status;
+    private final int[] queens;
+    private final long restarts;
+    private final long repairSteps;
+    private final long initNanos;
+    private final long repairNanos;
+    private final EscapeStatistics escapeStatistics;
+
+    /**
+     * Constructor with parameters
+     *
+     * @param status      reason the search stopped
+     * @param queens      array with all queens' rows, null if no solution was found
+     * @param restarts    number of times the board was placed again after the first placement
+     * @param repairSteps number of moved queens
+     * @param initNanos   time spent placing the queens in nanoseconds
+     * @param repairNanos time spent repairing the board in nanoseconds
+     * @param escapeStatistics counters of the plateau escape strategies
+     */
+    public SolverResult(final Status status, final int[] queens, final long restarts, final long repairSteps,
+                        final long initNanos, final long repairNanos, final EscapeStatistics escapeStatistics) {
+        this.status = status;
+        this.queens = queens;
+        this.restarts = restarts;
+        this.repairSteps = repairSteps;
+        this.initNanos = initNanos;
+        this.repairNanos = repairNanos;
+        this.escapeStatistics = escapeStatistics;
+    }
+
+    /**
+     * Getter for status
+     *
+     * @return status - reason the search stopped
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Method for checking if a solution was found
+     *
+     * @return true if the search found a board without conflicts
+     */
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Getter for queens
+     *
+     * @return queens - array with all queens' rows, null if no solution was found
+     */
+    public int[] getQueens() {
+        return queens;
+    }
+
+    /**
+     * Getter for restarts
+     *
+     * @return restarts - number of times the board was placed again after the first placement
+     */
+    public long getRestarts() {
+        return restarts;
+    }
+
+    /**
+     * Getter for repairSteps
+     *
+     * @return repairSteps - number of moved queens
+     */
+    public long getRepairSteps() {
+        return repairSteps;
+    }
+
+    /**
+     * Getter for initNanos
+     *
+     * @return initNanos - time spent placing the queens in nanoseconds
+     */
+    public long getInitNanos() {
+        return initNanos;
+    }
+
+    /**
+     * Getter for repairNanos
+     *
+     * @return repairNanos - time spent repairing the board in nanoseconds
+     */
+    public long getRepairNanos() {
+        return repairNanos;
+    }
+
+    /**
+     * Getter for escapeStatistics
+     *
+     * @return escapeStatistics - counters of the plateau escape strategies
+     */
+    public EscapeStatistics getEscapeStatistics() {
+        return escapeStatistics;
+    }
+
+    @Override
+    public String toString() {
+        return status + ", restarts: " + restarts + ", repair steps: " + repairSteps
+                + ", init: " + initNanos / 1_000_000.0 + "ms, repair: " + repairNanos / 1_000_000.0 + "ms, escapes: " + escapeStatistics;
+    }
+}
@@ -1,10 +1,12 @@
 package tsp;
 
 import java.util.*;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
 
 public final class GeneticTSP {
 
-    private static final Random RANDOM = new Random();
+    private static final String RANDOM_ALGORITHM = "L64X128MixRandom";
     private static int MIN_COORDINATE = -20;
     private static int MAX_COORDINATE = 20;
     private static int POPULATION_SIZE = 100;
@@ -17,9 +19,14 @@ public final class GeneticTSP {
     }
 
     public static void run(final int cities) {
-        final City[] cityList = generateCityList(cities);
+        run(cities, System.nanoTime());
+    }
+
+    public static void run(final int cities, final long seed) {
+        final RandomGenerator random = RandomGeneratorFactory.of(RANDOM_ALGORITHM).create(seed);
+        final City[] cityList = generateCityList(cities, random);
 
-        City[][] parentPopulation = generateInitialPopulation(cityList, POPULATION_SIZE);
+        City[][] parentPopulation = generateInitialPopulation(cityList, POPULATION_SIZE, random);
         int generation = 0;
 
         for(int j = 0; j < GENERATIONS; j++) {
@@ -34,16 +41,16 @@ public final class GeneticTSP {
             }
 
             while(childrenInChildPopulation < POPULATION_SIZE) {
-                final City[] parent1 = tournamentSelection(parentPopulation);
-                final City[] parent2 = tournamentSelection(parentPopulation);
+                final City[] parent1 = tournamentSelection(parentPopulation, random);
+                final City[] parent2 = tournamentSelection(parentPopulation, random);
 
                 final City[] child1 = copyParent(parent1);
                 final City[] child2 = copyParent(parent2);
 
-                crossover(parent1, parent2, child1, child2);
+                crossover(parent1, parent2, child1, child2, random);
 
-                swapMutate(child1, cities);
-                swapMutate(child2, cities);
+                swapMutate(child1, cities, random);
+                swapMutate(child2, cities, random);
 
                 childPopulation[childrenInChildPopulation++] = child1;
                 childPopulation[childrenInChildPopulation++] = child2;
@@ -83,8 +90,8 @@ public final class GeneticTSP {
         return child;
     }
 
-    private static void crossover(final City[] parent1, final City[] parent2, final City[] child1, final City[] child2) {
-        final int swapPoint = RANDOM.nextInt(child1.length);
+    private static void crossover(final City[] parent1, final City[] parent2, final City[] child1, final City[] child2, final RandomGenerator random) {
+        final int swapPoint = random.nextInt(child1.length);
 
         crossoverChild(swapPoint, parent2, child1);
         crossoverChild(swapPoint, parent1, child2);
@@ -112,14 +119,14 @@ public final class GeneticTSP {
         return false;
     }
 
-    private static void swapMutate(final City[] route, final int cities) {
-        final boolean chance20Percent = RANDOM.nextInt(10) < 2;
+    private static void swapMutate(final City[] route, final int cities, final RandomGenerator random) {
+        final boolean chance20Percent = random.nextInt(10) < 2;
 
         if(chance20Percent) {
-            final int randomIndex1 = RANDOM.nextInt(cities);
-            int randomIndex2 = RANDOM.nextInt(cities);
+            final int randomIndex1 = random.nextInt(cities);
+            int randomIndex2 = random.nextInt(cities);
 
-            while(randomIndex1 == randomIndex2) randomIndex2 = RANDOM.nextInt(cities);
+            while(randomIndex1 == randomIndex2) randomIndex2 = random.nextInt(cities);
 
             final City tempCity = route[randomIndex1];
             route[randomIndex1] = route[randomIndex2];
@@ -127,11 +134,11 @@ public final class GeneticTSP {
         }
     }
 
-    private static City[] tournamentSelection(final City[][] population) {
+    private static City[] tournamentSelection(final City[][] population, final RandomGenerator random) {
         City[] bestRoute = null;
 
         for(int i = 0; i < BINARY_TOURNAMENT_SELECTION; i++) {
-            final City[] currentRoute = population[RANDOM.nextInt(POPULATION_SIZE)];
+            final City[] currentRoute = population[random.nextInt(POPULATION_SIZE)];
             if(bestRoute == null || calcFitness(currentRoute) > calcFitness(bestRoute)) {
                 bestRoute = currentRoute;
             }
@@ -193,17 +200,17 @@ public final class GeneticTSP {
 //        });
 //    }
 
-    private static City[][] generateInitialPopulation(final City[] cityList, final int populationSize) {
+    private static City[][] generateInitialPopulation(final City[] cityList, final int populationSize, final RandomGenerator random) {
         final City[][] population = new City[populationSize][cityList.length];
 
         for(int i = 0; i < populationSize; i++) {
-            population[i] = generateRoute(cityList);
+            population[i] = generateRoute(cityList, random);
         }
 
         return population;
     }
 
-    private static City[] generateRoute(final City[] cityList) {
+    private static City[] generateRoute(final City[] cityList, final RandomGenerator random) {
         final City[] newRoute = new City[cityList.length];
 
         for(int i = 0; i < cityList.length; i++) {
@@ -211,7 +218,7 @@ public final class GeneticTSP {
         }
 
         for(int i = newRoute.length - 1; i > 0; i--) {
-            final int index = RANDOM.nextInt(i + 1);
+            final int index = random.nextInt(i + 1);
             final City temp = newRoute[index];
             newRoute[index] = newRoute[i];
             newRoute[i] = temp;
@@ -220,13 +227,13 @@ public final class GeneticTSP {
         return newRoute;
     }
 
-    private static City[] generateCityList(final int numCities) {
+    private static City[] generateCityList(final int numCities, final RandomGenerator random) {
         final Set<City> uniqueCities = new LinkedHashSet<>();
 
         for(int i = 0; i < numCities; i++) {
-            City currentCity  = new City(generateRandomCoordinate(), generateRandomCoordinate());
+            City currentCity  = new City(generateRandomCoordinate(random), generateRandomCoordinate(random));
             while(uniqueCities.contains(currentCity)) {
-                currentCity = new City(generateRandomCoordinate(), generateRandomCoordinate());
+                currentCity = new City(generateRandomCoordinate(random), generateRandomCoordinate(random));
             }
             uniqueCities.add(currentCity);
         }
@@ -241,8 +248,8 @@ public final class GeneticTSP {
         return cityList;
     }
 
-    private static int generateRandomCoordinate() {
-        return RANDOM.nextInt(MAX_COORDINATE - MIN_COORDINATE) + MIN_COORDINATE;
+    private static int generateRandomCoordinate(final RandomGenerator random) {
+        return random.nextInt(MAX_COORDINATE - MIN_COORDINATE) + MIN_COORDINATE;
     }
 
     private static double calcFitness(final City[] route) {